@@ -0,0 +1,83 @@
+package com.base.demo.benchmarks;
+
+import com.base.demo.constants.enums.wallet.WalletStatus;
+import com.base.demo.dtos.common.ApiResponse;
+import com.base.demo.dtos.wallet.BatchWalletResponse;
+import com.base.demo.dtos.wallet.GetWalletResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * So sánh JSON / Smile / CBOR cho payload batch ví (cùng DTO, cùng envelope ApiResponse).
+ * Kích thước payload in ra lúc setup, chi phí encode/decode đo bằng JMH.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BinaryFormatBenchmark {
+
+    private static final TypeReference<ApiResponse<BatchWalletResponse>> RESPONSE_TYPE = new TypeReference<>() {
+    };
+
+    @Param({ "json", "smile", "cbor" })
+    public String format;
+
+    @Param({ "100", "2000" })
+    public int wallets;
+
+    private ObjectMapper mapper;
+    private ApiResponse<BatchWalletResponse> response;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws Exception {
+        mapper = switch (format) {
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            default -> new ObjectMapper();
+        };
+        mapper.registerModule(new JavaTimeModule());
+
+        List<GetWalletResponse> items = new ArrayList<>(wallets);
+        for (long i = 1; i <= wallets; i++) {
+            BigDecimal balance = BigDecimal.valueOf(1_000_000L + i * 137, 2);
+            BigDecimal pending = BigDecimal.valueOf(i * 11, 2);
+            items.add(GetWalletResponse.builder()
+                    .userId(100_000L + i)
+                    .balance(balance)
+                    .availableBalance(balance.subtract(pending))
+                    .pendingBalance(pending)
+                    .status(WalletStatus.ACTIVE)
+                    .build());
+        }
+        response = ApiResponse.success(BatchWalletResponse.builder().wallets(items).missingUserIds(List.of()).build());
+        encoded = mapper.writeValueAsBytes(response);
+        System.out.printf("%n[%s] %d wallets -> %d bytes%n", format, wallets, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ApiResponse<BatchWalletResponse> deserialize() throws Exception {
+        return mapper.readValue(encoded, RESPONSE_TYPE);
+    }
+}
@@ -0,0 +1,95 @@
+package com.base.demo.benchmarks;
+
+import com.base.demo.configs.redis.RedisTypeRegistry;
+import com.base.demo.configs.redis.SmileRedisSerializer;
+import com.base.demo.constants.enums.wallet.WalletStatus;
+import com.base.demo.dtos.wallet.GetWalletResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * So sánh codec value Redis: JSON (Jackson2JsonRedisSerializer cũ) với Smile và Smile + LZ4.
+ * Kích thước value (xấp xỉ bộ nhớ Redis cho phần value) in ra lúc setup.
+ * Lưu ý: JSON đọc lại ra LinkedHashMap (mất kiểu), Smile đọc lại đúng DTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RedisCodecBenchmark {
+
+    @Param({ "json", "smile", "smile-lz4" })
+    public String codec;
+
+    /** 1 = snapshot 1 ví, 500 = list snapshot (value lớn, vượt ngưỡng nén). */
+    @Param({ "1", "500" })
+    public int wallets;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        ObjectMapper jsonMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        Jackson2JsonRedisSerializer<Object> json = new Jackson2JsonRedisSerializer<>(jsonMapper, Object.class);
+        RedisTypeRegistry registry = new RedisTypeRegistry()
+                .register(7, ArrayList.class)
+                .register(100, GetWalletResponse.class);
+
+        serializer = switch (codec) {
+            case "smile" -> new SmileRedisSerializer(jsonMapper.copyWith(new SmileFactory()), registry, json, true,
+                    0, new SimpleMeterRegistry());
+            case "smile-lz4" -> new SmileRedisSerializer(jsonMapper.copyWith(new SmileFactory()), registry, json,
+                    true, 1024, new SimpleMeterRegistry());
+            default -> json;
+        };
+
+        List<GetWalletResponse> items = new ArrayList<>(wallets);
+        for (long i = 1; i <= wallets; i++) {
+            BigDecimal balance = BigDecimal.valueOf(1_000_000L + i * 137, 2);
+            BigDecimal pending = BigDecimal.valueOf(i * 11, 2);
+            items.add(GetWalletResponse.builder()
+                    .userId(100_000L + i)
+                    .balance(balance)
+                    .availableBalance(balance.subtract(pending))
+                    .pendingBalance(pending)
+                    .status(WalletStatus.ACTIVE)
+                    .build());
+        }
+        value = wallets == 1 ? items.getFirst() : items;
+        encoded = serializer.serialize(value);
+        System.out.printf("%n[%s] %d wallets -> %d bytes%n", codec, wallets, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(encoded);
+    }
+}
@@ -0,0 +1,91 @@
+package com.base.demo.benchmarks;
+
+import com.base.demo.dtos.common.ApiResponse;
+import com.base.demo.dtos.role.GetRoleResponse;
+import com.base.demo.exceptions.ErrorResponse;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * So sánh envelope cũ (DateTimeFormatter.ofPattern mỗi lần + builder + BeanSerializer)
+ * với envelope hiện tại (timestamp cache theo giây + serializer ghi thẳng JsonGenerator).
+ * Đường cũ được tái tạo bằng mixin tắt @JsonSerialize của ApiResponse/ErrorResponse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResponseEnvelopeBenchmark {
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    abstract static class LegacyApiResponseMixin {
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    abstract static class LegacyErrorResponseMixin {
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
+        abstract LocalDateTime getTimestamp();
+    }
+
+    private ObjectMapper streamingMapper;
+    private ObjectMapper legacyMapper;
+    private List<GetRoleResponse> payload;
+
+    @Setup
+    public void setup() {
+        streamingMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        legacyMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .addMixIn(ApiResponse.class, LegacyApiResponseMixin.class)
+                .addMixIn(ErrorResponse.class, LegacyErrorResponseMixin.class);
+
+        payload = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) {
+            payload.add(GetRoleResponse.builder().id(i).name("ROLE_" + i).description("Mô tả role " + i).build());
+        }
+    }
+
+    @Benchmark
+    public void legacySuccess() throws Exception {
+        ApiResponse<List<GetRoleResponse>> response = ApiResponse.<List<GetRoleResponse>>builder()
+                .timestamp(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
+                .status(HttpStatus.OK.value())
+                .message("Success")
+                .data(payload)
+                .build();
+        legacyMapper.writeValue(OutputStream.nullOutputStream(), response);
+    }
+
+    @Benchmark
+    public void streamingSuccess() throws Exception {
+        streamingMapper.writeValue(OutputStream.nullOutputStream(), ApiResponse.success(payload));
+    }
+
+    @Benchmark
+    public void legacyError() throws Exception {
+        legacyMapper.writeValue(OutputStream.nullOutputStream(),
+                ErrorResponse.of(404, "Not Found", "Không tìm thấy", "/api/v1/roles/1"));
+    }
+
+    @Benchmark
+    public void streamingError() throws Exception {
+        streamingMapper.writeValue(OutputStream.nullOutputStream(),
+                ErrorResponse.of(404, "Not Found", "Không tìm thấy", "/api/v1/roles/1"));
+    }
+}
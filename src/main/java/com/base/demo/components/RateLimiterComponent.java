@@ -0,0 +1,71 @@
+package com.base.demo.components;
+
+import com.base.demo.configs.ratelimit.RateLimitProperties.Bucket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token bucket trên Redis: kiểm tra + trừ token cho nhiều bucket bằng 1 Lua script (EVALSHA, 1 round trip).
+ * Thời gian lấy từ Redis TIME nên không phụ thuộc đồng hồ từng instance.
+ * Key có hash tag {limit} -> mọi bucket của 1 limit cùng hash slot, script chạy được ở cluster mode (không CROSSSLOT).
+ */
+@Slf4j
+@Component
+public class RateLimiterComponent {
+
+    private static final String KEY_PREFIX = "app:ratelimit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT =
+            new DefaultRedisScript<>(loadScript(), List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public RateLimiterComponent(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    /** Kết quả: allowed = false thì retryAfterMillis là thời gian chờ tới khi có token. */
+    public record Decision(boolean allowed, long retryAfterMillis) {
+    }
+
+    /**
+     * @param limit   tên limit, ví dụ "deposit"
+     * @param keys    key bucket trong limit, ví dụ "user:42", "ip:10.0.0.1"
+     * @param buckets cấu hình tương ứng từng key
+     */
+    public Decision tryConsume(String limit, List<String> keys, List<Bucket> buckets) {
+        List<String> redisKeys = new ArrayList<>(keys.size());
+        List<String> args = new ArrayList<>(buckets.size() * 3);
+        for (int i = 0; i < keys.size(); i++) {
+            Bucket bucket = buckets.get(i);
+            redisKeys.add(KEY_PREFIX + "{" + limit + "}:" + keys.get(i));
+            args.add(String.valueOf(bucket.getCapacity()));
+            args.add(String.valueOf(bucket.tokensPerMillis()));
+            args.add(String.valueOf(bucket.ttlMillis()));
+        }
+
+        List<?> result = stringRedisTemplate.execute(TOKEN_BUCKET_SCRIPT, redisKeys, args.toArray());
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("Token bucket script trả về kết quả không hợp lệ: " + result);
+        }
+        return new Decision(((Number) result.get(0)).longValue() == 1, ((Number) result.get(1)).longValue());
+    }
+
+    private static String loadScript() {
+        try {
+            return new ClassPathResource("scripts/token_bucket.lua").getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Không đọc được scripts/token_bucket.lua", e);
+        }
+    }
+}
@@ -1,25 +1,61 @@
 package com.base.demo.components;
 
+import com.base.demo.configs.redis.RedisConfig;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Redis Component - Wrapper cho các Redis operations thông dụng.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class RedisComponent {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    /** Lệnh đọc: replica khi redis.read-mode=replica, ngược lại cùng instance với redisTemplate (master). */
+    private final RedisTemplate<String, Object> readTemplate;
     private final ObjectMapper objectMapper;
+    private final SingleFlightComponent singleFlight;
+    private final MeterRegistry meterRegistry;
+    private final RedisNearCache nearCache;
+    /** Thời gian cho envelope của getOrLoad (test thay bằng clock giả). */
+    private final Clock clock;
+
+    @Autowired
+    public RedisComponent(RedisTemplate<String, Object> redisTemplate,
+            @Qualifier(RedisConfig.READ_TEMPLATE) RedisTemplate<String, Object> readTemplate,
+            ObjectMapper objectMapper, SingleFlightComponent singleFlight, MeterRegistry meterRegistry,
+            RedisNearCache nearCache) {
+        this(redisTemplate, readTemplate, objectMapper, singleFlight, meterRegistry, nearCache, Clock.systemUTC());
+    }
+
+    RedisComponent(RedisTemplate<String, Object> redisTemplate, RedisTemplate<String, Object> readTemplate,
+            ObjectMapper objectMapper, SingleFlightComponent singleFlight, MeterRegistry meterRegistry,
+            RedisNearCache nearCache, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.readTemplate = readTemplate;
+        this.objectMapper = objectMapper;
+        this.singleFlight = singleFlight;
+        this.meterRegistry = meterRegistry;
+        this.nearCache = nearCache;
+        this.clock = clock;
+    }
 
     // ==================== STRING ====================
 
@@ -27,6 +63,7 @@ public class RedisComponent {
     public void set(String key, Object value, long timeout, TimeUnit timeUnit) {
         try {
             redisTemplate.opsForValue().set(key, value, timeout, timeUnit);
+            invalidateNear(key);
         } catch (Exception e) {
             log.error("Redis SET error: key={}", key, e);
         }
@@ -36,15 +73,18 @@ public class RedisComponent {
     public void set(String key, Object value) {
         try {
             redisTemplate.opsForValue().set(key, value);
+            invalidateNear(key);
         } catch (Exception e) {
             log.error("Redis SET error: key={}", key, e);
         }
     }
 
-    /** Lấy value theo key. */
+    /** Lấy value theo key. Key thuộc redis.near-cache.prefixes -> đọc near cache trước. */
     public Object get(String key) {
+        if (nearCache.matches(key))
+            return getNear(key, readTemplate);
         try {
-            return redisTemplate.opsForValue().get(key);
+            return readTemplate.opsForValue().get(key);
         } catch (Exception e) {
             log.error("Redis GET error: key={}", key, e);
             return null;
@@ -83,7 +123,9 @@ public class RedisComponent {
     /** Xóa key. */
     public boolean delete(String key) {
         try {
-            return redisTemplate.delete(key);
+            boolean deleted = redisTemplate.delete(key);
+            invalidateNear(key);
+            return deleted;
         } catch (Exception e) {
             log.error("Redis DELETE error: key={}", key, e);
             return false;
@@ -93,7 +135,7 @@ public class RedisComponent {
     /** Kiểm tra key tồn tại. */
     public boolean exists(String key) {
         try {
-            return redisTemplate.hasKey(key);
+            return readTemplate.hasKey(key);
         } catch (Exception e) {
             log.error("Redis EXISTS error: key={}", key, e);
             return false;
@@ -103,7 +145,9 @@ public class RedisComponent {
     /** Đặt TTL cho key. */
     public boolean expire(String key, long timeout, TimeUnit timeUnit) {
         try {
-            return redisTemplate.expire(key, timeout, timeUnit);
+            boolean updated = Boolean.TRUE.equals(redisTemplate.expire(key, timeout, timeUnit));
+            invalidateNear(key);
+            return updated;
         } catch (Exception e) {
             log.error("Redis EXPIRE error: key={}", key, e);
             return false;
@@ -124,7 +168,7 @@ public class RedisComponent {
     /** Lấy value của field trong Hash. */
     public Object hGet(String key, String field) {
         try {
-            return redisTemplate.opsForHash().get(key, field);
+            return readTemplate.opsForHash().get(key, field);
         } catch (Exception e) {
             log.error("Redis HGET error: key={}, field={}", key, field, e);
             return null;
@@ -134,7 +178,7 @@ public class RedisComponent {
     /** Lấy tất cả field-value trong Hash. */
     public Map<Object, Object> hGetAll(String key) {
         try {
-            return redisTemplate.opsForHash().entries(key);
+            return readTemplate.opsForHash().entries(key);
         } catch (Exception e) {
             log.error("Redis HGETALL error: key={}", key, e);
             return Collections.emptyMap();
@@ -176,7 +220,7 @@ public class RedisComponent {
     /** Lấy các phần tử trong khoảng [start, end]. */
     public List<Object> lRange(String key, long start, long end) {
         try {
-            List<Object> result = redisTemplate.opsForList().range(key, start, end);
+            List<Object> result = readTemplate.opsForList().range(key, start, end);
             return result != null ? result : Collections.emptyList();
         } catch (Exception e) {
             log.error("Redis LRANGE error: key={}", key, e);
@@ -199,7 +243,7 @@ public class RedisComponent {
     /** Kiểm tra value có trong Set không. */
     public boolean sIsMember(String key, Object value) {
         try {
-            return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(key, value));
+            return Boolean.TRUE.equals(readTemplate.opsForSet().isMember(key, value));
         } catch (Exception e) {
             log.error("Redis SISMEMBER error: key={}", key, e);
             return false;
@@ -209,7 +253,7 @@ public class RedisComponent {
     /** Lấy tất cả phần tử trong Set. */
     public Set<Object> sMembers(String key) {
         try {
-            Set<Object> result = redisTemplate.opsForSet().members(key);
+            Set<Object> result = readTemplate.opsForSet().members(key);
             return result != null ? result : Collections.emptySet();
         } catch (Exception e) {
             log.error("Redis SMEMBERS error: key={}", key, e);
@@ -222,7 +266,9 @@ public class RedisComponent {
     /** Tăng giá trị lên 1 (atomic). */
     public Long increment(String key) {
         try {
-            return redisTemplate.opsForValue().increment(key);
+            Long value = redisTemplate.opsForValue().increment(key);
+            invalidateNear(key);
+            return value;
         } catch (Exception e) {
             log.error("Redis INCR error: key={}", key, e);
             return null;
@@ -232,7 +278,9 @@ public class RedisComponent {
     /** Tăng giá trị theo delta (atomic). */
     public Long increment(String key, long delta) {
         try {
-            return redisTemplate.opsForValue().increment(key, delta);
+            Long value = redisTemplate.opsForValue().increment(key, delta);
+            invalidateNear(key);
+            return value;
         } catch (Exception e) {
             log.error("Redis INCRBY error: key={}", key, e);
             return null;
@@ -241,27 +289,259 @@ public class RedisComponent {
 
     // ==================== CACHE-ASIDE ====================
 
-    /** Cache-aside: lấy từ cache, nếu miss thì load và cache lại. */
-    public <T> T getOrLoad(String key, Class<T> clazz, java.util.function.Supplier<T> loader) {
-        T cached = get(key, clazz);
-        if (cached != null)
-            return cached;
-        T loaded = loader.get();
-        if (loaded != null)
-            set(key, loaded);
-        return loaded;
-    }
-
-    /** Cache-aside với TTL. */
-    public <T> T getOrLoad(String key, Class<T> clazz, long timeout, TimeUnit timeUnit,
-            java.util.function.Supplier<T> loader) {
-        T cached = get(key, clazz);
-        if (cached != null)
-            return cached;
-        T loaded = loader.get();
-        if (loaded != null)
-            set(key, loaded, timeout, timeUnit);
-        return loaded;
+    /**
+     * Value getOrLoad lưu trong Redis: v = value, d = thời gian load (ms), e = hết hạn logic (epoch ms),
+     * n = negative (loader trả về null). TTL vật lý = TTL logic + cửa sổ stale.
+     */
+    public record CacheEnvelope(Object v, long d, long e, boolean n) {
+    }
+
+    private static final Duration NEGATIVE_TTL = Duration.ofSeconds(30);
+    private static final Duration LEASE_TTL = Duration.ofSeconds(10);
+    private static final long LEASE_WAIT_MILLIS = 50;
+    private static final int LEASE_WAIT_ATTEMPTS = 6;
+    /** XFetch beta: > 1 refresh sớm hơn, < 1 muộn hơn. */
+    private static final double EARLY_REFRESH_BETA = 1.0;
+    private static final RedisScript<Long> RELEASE_LEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    /** Cache-aside không TTL (chỉ negative cache có TTL). */
+    public <T> T getOrLoad(String cache, String key, Class<T> clazz, Supplier<T> loader) {
+        return load(cache, key, clazz, null, loader);
+    }
+
+    /**
+     * Cache-aside với TTL, chống thundering herd:
+     * - Sắp hết hạn: refresh sớm theo xác suất (XFetch), chỉ caller giữ lease refresh
+     * - Hết hạn: caller giữ lease load lại, caller khác trả value cũ (stale-while-revalidate)
+     * - Miss: 1 thread / instance (single-flight) + 1 instance / cluster (lease), phần còn lại chờ ngắn
+     * - Loader trả về null: cache negative với TTL ngắn riêng
+     * Envelope luôn đọc từ master (replica trễ làm caller chờ lease không thấy kết quả -> load trùng).
+     * Metric: redis.cache.requests{cache, result}, redis.cache.load{cache}.
+     *
+     * @param cache tên cố định cho metric (ví dụ "wallet"), không chứa id để tránh bùng nổ cardinality
+     */
+    public <T> T getOrLoad(String cache, String key, Class<T> clazz, long timeout, TimeUnit timeUnit,
+            Supplier<T> loader) {
+        return load(cache, key, clazz, Duration.ofMillis(timeUnit.toMillis(timeout)), loader);
+    }
+
+    private <T> T load(String cache, String key, Class<T> clazz, Duration ttl, Supplier<T> loader) {
+        CacheEnvelope envelope = getEnvelope(key);
+        long now = clock.millis();
+
+        if (envelope != null && now < envelope.e()) {
+            if (envelope.n()) {
+                countRequest(cache, "negative_hit");
+                return null;
+            }
+            if (ttl != null && shouldRefreshEarly(envelope, now)) {
+                String token = tryLease(key);
+                if (token != null) {
+                    countRequest(cache, "early_refresh");
+                    return refresh(cache, key, clazz, ttl, loader, token, envelope);
+                }
+            }
+            countRequest(cache, "hit");
+            return convert(envelope.v(), clazz);
+        }
+
+        if (envelope != null) {
+            // Hết hạn logic nhưng còn trong cửa sổ stale: 1 caller load lại, còn lại dùng value cũ
+            String token = tryLease(key);
+            if (token == null) {
+                countRequest(cache, "stale");
+                return envelope.n() ? null : convert(envelope.v(), clazz);
+            }
+            countRequest(cache, "expired_refresh");
+            return refresh(cache, key, clazz, ttl, loader, token, envelope);
+        }
+
+        countRequest(cache, "miss");
+        return singleFlight.execute("redis", key, () -> loadOnMiss(cache, key, clazz, ttl, loader));
+    }
+
+    private <T> T loadOnMiss(String cache, String key, Class<T> clazz, Duration ttl, Supplier<T> loader) {
+        String token = tryLease(key);
+        // Instance khác đang load: chờ ngắn kết quả của nó, quá hạn thì tự load (không treo request)
+        for (int attempt = 0; token == null && attempt < LEASE_WAIT_ATTEMPTS; attempt++) {
+            try {
+                Thread.sleep(LEASE_WAIT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            CacheEnvelope envelope = getEnvelope(key);
+            if (envelope != null)
+                return envelope.n() ? null : convert(envelope.v(), clazz);
+            token = tryLease(key);
+        }
+        if (token == null)
+            countRequest(cache, "lease_timeout");
+        return refresh(cache, key, clazz, ttl, loader, token, null);
+    }
+
+    /** Gọi loader, ghi envelope, nhả lease. Loader lỗi mà còn value cũ -> trả value cũ. */
+    private <T> T refresh(String cache, String key, Class<T> clazz, Duration ttl, Supplier<T> loader,
+            String token, CacheEnvelope fallback) {
+        long start = System.nanoTime();
+        try {
+            T loaded = loader.get();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            meterRegistry.timer("redis.cache.load", "cache", cache)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            writeEnvelope(key, loaded, elapsedMillis, ttl);
+            return loaded;
+        } catch (RuntimeException e) {
+            if (fallback == null)
+                throw e;
+            log.error("Redis cache refresh error, dùng value cũ: key={}", key, e);
+            countRequest(cache, "refresh_error");
+            return fallback.n() ? null : convert(fallback.v(), clazz);
+        } finally {
+            if (token != null)
+                releaseLease(key, token);
+        }
+    }
+
+    private void writeEnvelope(String key, Object value, long loadMillis, Duration ttl) {
+        long now = clock.millis();
+        if (value == null) {
+            set(key, new CacheEnvelope(null, loadMillis, now + NEGATIVE_TTL.toMillis(), true),
+                    NEGATIVE_TTL.toMillis(), TimeUnit.MILLISECONDS);
+        } else if (ttl == null) {
+            set(key, new CacheEnvelope(value, loadMillis, Long.MAX_VALUE, false));
+        } else {
+            // Giữ thêm 1 TTL làm cửa sổ stale-while-revalidate
+            set(key, new CacheEnvelope(value, loadMillis, now + ttl.toMillis(), false),
+                    ttl.toMillis() * 2, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** XFetch: now - d * beta * ln(rand) >= expiry, key load càng lâu càng được refresh sớm. */
+    private boolean shouldRefreshEarly(CacheEnvelope envelope, long now) {
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return now - envelope.d() * EARLY_REFRESH_BETA * Math.log(random) >= envelope.e();
+    }
+
+    private CacheEnvelope getEnvelope(String key) {
+        Object raw = getFromMaster(key);
+        if (raw instanceof CacheEnvelope envelope)
+            return envelope;
+        // Codec JSON: envelope đọc lại thành Map. Value không phải envelope (format cũ) -> coi như miss
+        if (raw instanceof Map<?, ?> map && map.containsKey("e")) {
+            try {
+                return objectMapper.convertValue(raw, CacheEnvelope.class);
+            } catch (Exception e) {
+                log.error("Redis cache envelope error: key={}", key, e);
+            }
+        }
+        return null;
+    }
+
+    private String tryLease(String key) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key + ":lease", token, LEASE_TTL);
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (Exception e) {
+            // Redis lỗi: không chặn loader (fail-open)
+            log.error("Redis lease error: key={}", key, e);
+            return token;
+        }
+    }
+
+    private void releaseLease(String key, String token) {
+        try {
+            redisTemplate.execute(RELEASE_LEASE_SCRIPT, List.of(key + ":lease"), token);
+        } catch (Exception e) {
+            log.error("Redis lease release error: key={}", key, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T convert(Object value, Class<T> clazz) {
+        if (value == null || clazz.isInstance(value))
+            return (T) value;
+        return objectMapper.convertValue(value, clazz);
+    }
+
+    private void countRequest(String cache, String result) {
+        meterRegistry.counter("redis.cache.requests", "cache", cache, "result", result).increment();
+    }
+
+    /** Như get(key) nhưng đọc master (near cache vẫn dùng nếu key thuộc prefix). */
+    private Object getFromMaster(String key) {
+        if (nearCache.matches(key))
+            return getNear(key, redisTemplate);
+        try {
+            return redisTemplate.opsForValue().get(key);
+        } catch (Exception e) {
+            log.error("Redis GET error: key={}", key, e);
+            return null;
+        }
+    }
+
+    // ==================== NEAR CACHE ====================
+
+    /** Near cache miss -> GET + PTTL trong 1 round trip, cache local tối đa bằng TTL còn lại trên Redis. */
+    @SuppressWarnings("unchecked")
+    private Object getNear(String key, RedisTemplate<String, Object> template) {
+        Object local = nearCache.get(key);
+        if (local != null)
+            return local;
+
+        long mark = nearCache.mark();
+        RedisPipeline.Response<Object>[] value = new RedisPipeline.Response[1];
+        RedisPipeline.Response<Long>[] ttl = new RedisPipeline.Response[1];
+        pipeline(template, pipeline -> {
+            value[0] = pipeline.get(key);
+            ttl[0] = pipeline.ttl(key);
+        });
+        if (value[0].isSuccess() && ttl[0].isSuccess())
+            nearCache.put(key, value[0].get(), ttl[0].get(), mark);
+        return value[0].get();
+    }
+
+    private void invalidateNear(String key) {
+        if (nearCache.matches(key))
+            nearCache.invalidate(List.of(key));
+    }
+
+    private void invalidateNear(Collection<String> keys) {
+        if (nearCache.isEnabled())
+            nearCache.invalidate(keys.stream().filter(nearCache::matches).toList());
+    }
+
+    // ==================== PIPELINE ====================
+
+    /**
+     * Chạy nhiều lệnh trong 1 round trip. Kết quả đọc qua Response trả về từ từng lệnh, sau khi hàm này return:
+     * <pre>
+     * List&lt;Response&lt;Long&gt;&gt; added = new ArrayList&lt;&gt;();
+     * redisComponent.pipeline(p -&gt; { p.hSet(k, f, v); p.expire(k, ttl); added.add(p.sAdd(s, id)); });
+     * </pre>
+     * Lệnh lỗi riêng lẻ -> Response đó isSuccess() = false, các lệnh khác vẫn có kết quả.
+     * Trả về false nếu có lỗi (log 1 lần cho cả pipeline).
+     */
+    public boolean pipeline(Consumer<RedisPipeline> commands) {
+        Set<String> writtenKeys = new LinkedHashSet<>();
+        try {
+            return pipeline(redisTemplate, commands.andThen(pipeline -> writtenKeys.addAll(pipeline.writtenKeys())));
+        } finally {
+            // Invalidate cả khi lỗi: một phần lệnh có thể đã chạy trên Redis
+            invalidateNear(writtenKeys);
+        }
+    }
+
+    /** Pipeline chỉ gồm lệnh đọc -> chạy trên readTemplate (replica nếu bật). */
+    private boolean readPipeline(Consumer<RedisPipeline> commands) {
+        return pipeline(readTemplate, commands);
+    }
+
+    private boolean pipeline(RedisTemplate<String, Object> template, Consumer<RedisPipeline> commands) {
+        return RedisPipeline.execute(template, commands);
     }
 
     // ==================== BULK ====================
@@ -270,19 +550,142 @@ public class RedisComponent {
     public void multiSet(Map<String, Object> keyValues) {
         try {
             redisTemplate.opsForValue().multiSet(keyValues);
+            invalidateNear(keyValues.keySet());
         } catch (Exception e) {
             log.error("Redis MSET error: keys={}", keyValues.keySet(), e);
         }
     }
 
-    /** Lấy nhiều values cùng lúc (MGET). */
+    /** Lưu nhiều key-value cùng TTL trong 1 pipeline (MSET không hỗ trợ TTL). */
+    public void multiSet(Map<String, Object> keyValues, long timeout, TimeUnit timeUnit) {
+        if (keyValues.isEmpty())
+            return;
+        Duration ttl = Duration.ofMillis(timeUnit.toMillis(timeout));
+        pipeline(pipeline -> keyValues.forEach((key, value) -> pipeline.set(key, value, ttl)));
+    }
+
+    /**
+     * Read-through fill: SET NX PX nhiều key trong 1 pipeline. Key đang tồn tại được giữ nguyên.
+     * Không broadcast near cache: key vắng mặt trên Redis thì không replica nào còn giữ bản local.
+     */
+    public void multiSetIfAbsent(Map<String, Object> keyValues, long timeout, TimeUnit timeUnit) {
+        if (keyValues.isEmpty())
+            return;
+        Duration ttl = Duration.ofMillis(timeUnit.toMillis(timeout));
+        pipeline(redisTemplate, pipeline -> keyValues.forEach((key, value) -> pipeline.setIfAbsent(key, value, ttl)));
+    }
+
+    /** HMSET nhiều hash trong 1 pipeline, kèm TTL nếu timeout > 0. Trả về false nếu pipeline lỗi. */
+    public boolean hSetAll(Map<String, ? extends Map<String, ?>> hashes, long timeout, TimeUnit timeUnit) {
+        if (hashes.isEmpty())
+            return true;
+        Duration ttl = Duration.ofMillis(timeUnit.toMillis(timeout));
+        return pipeline(pipeline -> hashes.forEach((key, fields) -> {
+            pipeline.hSetAll(key, fields);
+            if (!ttl.isZero() && !ttl.isNegative())
+                pipeline.expire(key, ttl);
+        }));
+    }
+
+    /** HGETALL nhiều key trong 1 pipeline. Key lỗi/không tồn tại -> map rỗng. */
+    public Map<String, Map<Object, Object>> hGetAll(Collection<String> keys) {
+        Map<String, RedisPipeline.Response<Map<Object, Object>>> responses = new LinkedHashMap<>();
+        readPipeline(pipeline -> keys.forEach(key -> responses.put(key, pipeline.hGetAll(key))));
+
+        Map<String, Map<Object, Object>> result = new LinkedHashMap<>(responses.size() * 2);
+        responses.forEach((key, response) -> result.put(key, response.getOrDefault(Collections.emptyMap())));
+        return result;
+    }
+
+    /** SISMEMBER cùng 1 value trên nhiều set trong 1 pipeline. Key lỗi -> false. */
+    public Map<String, Boolean> sIsMember(Collection<String> keys, Object value) {
+        Map<String, RedisPipeline.Response<Boolean>> responses = new LinkedHashMap<>();
+        readPipeline(pipeline -> keys.forEach(key -> responses.put(key, pipeline.sIsMember(key, value))));
+
+        Map<String, Boolean> result = new LinkedHashMap<>(responses.size() * 2);
+        responses.forEach((key, response) -> result.put(key, response.getOrDefault(false)));
+        return result;
+    }
+
+    /** Đặt TTL cho nhiều key trong 1 pipeline. Trả về số key được đặt TTL thành công. */
+    public int expire(Collection<String> keys, long timeout, TimeUnit timeUnit) {
+        Duration ttl = Duration.ofMillis(timeUnit.toMillis(timeout));
+        List<RedisPipeline.Response<Boolean>> responses = new ArrayList<>(keys.size());
+        pipeline(pipeline -> keys.forEach(key -> responses.add(pipeline.expire(key, ttl))));
+        return (int) responses.stream().filter(response -> Boolean.TRUE.equals(response.get())).count();
+    }
+
+    /** Lấy nhiều values cùng lúc (MGET). Key thuộc near cache lấy local trước, phần còn lại 1 round trip. */
     public List<Object> multiGet(Collection<String> keys) {
+        if (nearCache.isEnabled() && keys.stream().anyMatch(nearCache::matches))
+            return multiGetNear(new ArrayList<>(keys));
         try {
-            List<Object> result = redisTemplate.opsForValue().multiGet(keys);
+            List<Object> result = readTemplate.opsForValue().multiGet(keys);
             return result != null ? result : Collections.emptyList();
         } catch (Exception e) {
             log.error("Redis MGET error: keys={}", keys, e);
             return Collections.emptyList();
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> multiGetNear(List<String> keys) {
+        List<Object> result = new ArrayList<>(Collections.nCopies(keys.size(), null));
+        List<Integer> misses = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            Object local = nearCache.matches(keys.get(i)) ? nearCache.get(keys.get(i)) : null;
+            if (local != null)
+                result.set(i, local);
+            else
+                misses.add(i);
+        }
+        if (misses.isEmpty())
+            return result;
+
+        long mark = nearCache.mark();
+        RedisPipeline.Response<Object>[] values = new RedisPipeline.Response[misses.size()];
+        RedisPipeline.Response<Long>[] ttls = new RedisPipeline.Response[misses.size()];
+        readPipeline(pipeline -> {
+            for (int j = 0; j < misses.size(); j++) {
+                String key = keys.get(misses.get(j));
+                values[j] = pipeline.get(key);
+                if (nearCache.matches(key))
+                    ttls[j] = pipeline.ttl(key);
+            }
+        });
+        for (int j = 0; j < misses.size(); j++) {
+            String key = keys.get(misses.get(j));
+            result.set(misses.get(j), values[j].get());
+            if (ttls[j] != null && values[j].isSuccess() && ttls[j].isSuccess())
+                nearCache.put(key, values[j].get(), ttls[j].get(), mark);
+        }
+        return result;
+    }
+
+    /** MGET rồi convert sang type mong muốn; phần tử null = miss (giữ đúng thứ tự keys). */
+    public <T> List<T> multiGet(Collection<String> keys, Class<T> clazz) {
+        List<Object> values = multiGet(keys);
+        if (values.isEmpty())
+            return new ArrayList<>(Collections.nCopies(keys.size(), null));
+
+        List<T> result = new ArrayList<>(values.size());
+        for (Object value : values) {
+            result.add(convert(value, clazz));
+        }
+        return result;
+    }
+
+    /**
+     * Convert value đọc từ Redis sang type mong muốn. Codec json không ghi type nên object về dạng Map.
+     * Lỗi convert -> null (coi như miss).
+     */
+    public <T> T convert(Object value, Class<T> clazz) {
+        try {
+            return value == null ? null
+                    : clazz.isInstance(value) ? clazz.cast(value) : objectMapper.convertValue(value, clazz);
+        } catch (Exception e) {
+            log.error("Redis convert error: type={}", clazz.getSimpleName(), e);
+            return null;
+        }
+    }
 }
@@ -0,0 +1,177 @@
+package com.base.demo.components;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Near cache trong JVM cho value string của RedisComponent, chỉ với key thuộc redis.near-cache.prefixes.
+ * - TTL local = min(TTL còn lại trên Redis, max-ttl) -> không giữ value quá hạn Redis
+ * - Ghi/xoá qua RedisComponent publish invalidation (Redis pub/sub, 1 message cho cả lô key) -> replica khác xoá bản local
+ * Metric: cache.gets{cache=redis-near, result=hit|miss} (hit ratio), redis.near.invalidations{source=local|remote}.
+ */
+@Slf4j
+@Component
+public class RedisNearCache implements MessageListener {
+
+    public static final String CHANNEL = "app:redis:near:invalidation";
+
+    /** Đủ dài hơn 1 lần đọc Redis (GET + PTTL) để chặn fill cũ sau invalidation. */
+    private static final Duration TOMBSTONE_TTL = Duration.ofSeconds(10);
+
+    private record Entry(Object value, long ttlNanos) {
+    }
+
+    private final String instanceId = UUID.randomUUID().toString();
+    /** Sequence tăng mỗi lần invalidate; tombstones giữ sequence invalidate gần nhất của từng key. */
+    private final AtomicLong sequence = new AtomicLong();
+    private final Cache<String, Long> tombstones;
+    private final List<String> prefixes;
+    private final Duration maxTtl;
+    private final Cache<String, Entry> localCache;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final Counter localInvalidations;
+    private final Counter remoteInvalidations;
+
+    public RedisNearCache(@Value("${redis.near-cache.prefixes:}") String prefixes,
+            @Value("${redis.near-cache.max-size:10000}") long maxSize,
+            @Value("${redis.near-cache.max-ttl:30s}") Duration maxTtl,
+            StringRedisTemplate stringRedisTemplate, RedisMessageListenerContainer redisMessageListenerContainer,
+            MeterRegistry meterRegistry) {
+        this.prefixes = Arrays.stream(prefixes.split(",")).map(String::trim).filter(p -> !p.isEmpty()).toList();
+        this.maxTtl = maxTtl;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.tombstones = Caffeine.newBuilder()
+                .expireAfterWrite(TOMBSTONE_TTL)
+                .maximumSize(maxSize)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "redis-near", Tags.of("tier", "near"));
+        this.localInvalidations = meterRegistry.counter("redis.near.invalidations", "source", "local");
+        this.remoteInvalidations = meterRegistry.counter("redis.near.invalidations", "source", "remote");
+    }
+
+    @PostConstruct
+    void subscribe() {
+        if (!prefixes.isEmpty()) {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+            log.info("Redis near cache bật cho prefix: {}", prefixes);
+        }
+    }
+
+    public boolean isEnabled() {
+        return !prefixes.isEmpty();
+    }
+
+    public boolean matches(String key) {
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix))
+                return true;
+        }
+        return false;
+    }
+
+    /** Value local, null nếu không có (không phân biệt miss với value null: null không được cache). */
+    public Object get(String key) {
+        Entry entry = localCache.getIfPresent(key);
+        return entry != null ? entry.value() : null;
+    }
+
+    /** Lấy trước khi đọc Redis, truyền lại vào put(...). */
+    public long mark() {
+        return sequence.get();
+    }
+
+    /**
+     * @param remainingTtlMillis TTL còn lại trên Redis (ms), -1 nếu key không có TTL
+     * @param mark               giá trị mark() trước khi đọc Redis
+     */
+    public void put(String key, Object value, long remainingTtlMillis, long mark) {
+        if (value == null || remainingTtlMillis == 0 || remainingTtlMillis < -1)
+            return;
+        long ttlMillis = remainingTtlMillis < 0 ? maxTtl.toMillis() : Math.min(remainingTtlMillis, maxTtl.toMillis());
+        // Key bị invalidate trong lúc đọc Redis -> value vừa đọc có thể đã cũ (kiểm tra lại sau put để không lọt race)
+        if (invalidatedSince(key, mark))
+            return;
+        localCache.put(key, new Entry(value, Duration.ofMillis(ttlMillis).toNanos()));
+        if (invalidatedSince(key, mark))
+            localCache.invalidate(key);
+    }
+
+    /** Xoá local và báo các replica khác xoá, 1 PUBLISH cho cả lô (gọi sau khi key đã đổi trên Redis). */
+    public void invalidate(Collection<String> keys) {
+        if (keys.isEmpty())
+            return;
+        keys.forEach(this::invalidateLocal);
+        localInvalidations.increment(keys.size());
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, instanceId + "|" + String.join("\n", keys));
+        } catch (Exception e) {
+            log.error("Redis near cache PUBLISH error: keys={}", keys.size(), e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 2);
+        if (parts.length < 2 || instanceId.equals(parts[0]))
+            return;
+        String[] keys = parts[1].split("\n");
+        for (String key : keys) {
+            invalidateLocal(key);
+        }
+        remoteInvalidations.increment(keys.length);
+    }
+
+    private void invalidateLocal(String key) {
+        tombstones.put(key, sequence.incrementAndGet());
+        localCache.invalidate(key);
+    }
+
+    private boolean invalidatedSince(String key, long mark) {
+        Long invalidatedAt = tombstones.getIfPresent(key);
+        return invalidatedAt != null && invalidatedAt > mark;
+    }
+}
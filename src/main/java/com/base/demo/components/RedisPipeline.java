@@ -0,0 +1,282 @@
+package com.base.demo.components;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Gom nhiều lệnh Redis vào 1 pipeline (1 round trip), dùng qua RedisComponent.pipeline(...).
+ * Mỗi lệnh trả về Response&lt;T&gt;: chỉ đọc được sau khi pipeline đã chạy xong.
+ * Lệnh trả status reply (SET, SETEX, HMSET) có thể bị driver bỏ khỏi kết quả (Lettuce/Jedis),
+ * nên không dựa vào vị trí kết quả của các lệnh này.
+ */
+@Slf4j
+public class RedisPipeline {
+
+    /** Kết quả typed của 1 lệnh trong pipeline. */
+    public static class Response<T> {
+        private final Function<Object, T> converter;
+        private final boolean status;
+        private boolean done;
+        private boolean success;
+        private T value;
+
+        private Response(Function<Object, T> converter, boolean status) {
+            this.converter = converter;
+            this.status = status;
+        }
+
+        /** Giá trị của lệnh, null nếu lệnh lỗi hoặc key không tồn tại. */
+        public T get() {
+            if (!done)
+                throw new IllegalStateException("Pipeline chưa được thực thi");
+            return value;
+        }
+
+        public T getOrDefault(T defaultValue) {
+            T result = get();
+            return result != null ? result : defaultValue;
+        }
+
+        public boolean isSuccess() {
+            return done && success;
+        }
+
+        void complete(Object raw) {
+            this.value = raw == null ? null : converter.apply(raw);
+            this.success = true;
+            this.done = true;
+        }
+
+        void fail() {
+            this.value = null;
+            this.success = false;
+            this.done = true;
+        }
+    }
+
+    private final RedisOperations<String, Object> operations;
+    private final List<Response<?>> responses = new ArrayList<>();
+    /** Key string bị ghi/xoá/đổi TTL -> RedisComponent invalidate near cache sau khi pipeline chạy. */
+    private final Set<String> writtenKeys = new LinkedHashSet<>();
+
+    RedisPipeline(RedisOperations<String, Object> operations) {
+        this.operations = operations;
+    }
+
+    // ==================== STRING ====================
+
+    public Response<Object> get(String key) {
+        operations.opsForValue().get(key);
+        return register(Function.identity());
+    }
+
+    public Response<Boolean> set(String key, Object value) {
+        operations.opsForValue().set(key, value);
+        writtenKeys.add(key);
+        return registerStatus();
+    }
+
+    public Response<Boolean> set(String key, Object value, Duration ttl) {
+        operations.opsForValue().set(key, value, ttl);
+        writtenKeys.add(key);
+        return registerStatus();
+    }
+
+    /** SET NX PX. Không tính là ghi với near cache (key chưa tồn tại thì không có bản local nào). */
+    public Response<Boolean> setIfAbsent(String key, Object value, Duration ttl) {
+        operations.opsForValue().setIfAbsent(key, value, ttl);
+        return register(RedisPipeline::toBoolean);
+    }
+
+    public Response<Long> increment(String key, long delta) {
+        operations.opsForValue().increment(key, delta);
+        writtenKeys.add(key);
+        return register(RedisPipeline::toLong);
+    }
+
+    // ==================== KEY ====================
+
+    public Response<Boolean> delete(String key) {
+        operations.delete(key);
+        writtenKeys.add(key);
+        return register(RedisPipeline::toBoolean);
+    }
+
+    public Response<Boolean> expire(String key, Duration ttl) {
+        operations.expire(key, ttl);
+        writtenKeys.add(key);
+        return register(RedisPipeline::toBoolean);
+    }
+
+    /** PTTL (ms): -1 nếu key không có TTL, -2 nếu key không tồn tại. */
+    public Response<Long> ttl(String key) {
+        operations.getExpire(key, TimeUnit.MILLISECONDS);
+        return register(RedisPipeline::toLong);
+    }
+
+    // ==================== HASH ====================
+
+    public Response<Boolean> hSet(String key, String field, Object value) {
+        operations.opsForHash().put(key, field, value);
+        return register(RedisPipeline::toBoolean);
+    }
+
+    /** HMSET: trả về true khi lệnh thành công (HMSET không có giá trị trả về). */
+    public Response<Boolean> hSetAll(String key, Map<String, ?> fields) {
+        operations.opsForHash().putAll(key, fields);
+        return registerStatus();
+    }
+
+    public Response<Object> hGet(String key, String field) {
+        operations.opsForHash().get(key, field);
+        return register(Function.identity());
+    }
+
+    @SuppressWarnings("unchecked")
+    public Response<Map<Object, Object>> hGetAll(String key) {
+        operations.opsForHash().entries(key);
+        return register(raw -> (Map<Object, Object>) raw);
+    }
+
+    // ==================== SET ====================
+
+    public Response<Long> sAdd(String key, Object... values) {
+        operations.opsForSet().add(key, values);
+        return register(RedisPipeline::toLong);
+    }
+
+    public Response<Boolean> sIsMember(String key, Object value) {
+        operations.opsForSet().isMember(key, value);
+        return register(RedisPipeline::toBoolean);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Response<Set<Object>> sMembers(String key) {
+        operations.opsForSet().members(key);
+        return register(raw -> (Set<Object>) raw);
+    }
+
+    // ==================== INTERNAL ====================
+
+    private <T> Response<T> register(Function<Object, T> converter) {
+        Response<T> response = new Response<>(converter, false);
+        responses.add(response);
+        return response;
+    }
+
+    private Response<Boolean> registerStatus() {
+        Response<Boolean> response = new Response<>(RedisPipeline::toBoolean, true);
+        responses.add(response);
+        return response;
+    }
+
+    /** Chạy pipeline trên template, gán kết quả cho các Response. Trả về false nếu có lỗi (log 1 lần). */
+    static boolean execute(RedisTemplate<String, Object> template, Consumer<RedisPipeline> commands) {
+        List<Response<?>> responses = new ArrayList<>();
+        try {
+            List<Object> results = template.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisPipeline pipeline = new RedisPipeline((RedisOperations<String, Object>) operations);
+                    commands.accept(pipeline);
+                    responses.addAll(pipeline.responses());
+                    return null;
+                }
+            });
+            if (!complete(responses, results)) {
+                log.error("Redis PIPELINE error: commands={}, results={}", responses.size(),
+                        results != null ? results.size() : null);
+                return false;
+            }
+            return true;
+        } catch (RedisPipelineException e) {
+            // Một số lệnh lỗi: kết quả vẫn có, vị trí lỗi là exception
+            complete(responses, e.getResults());
+            log.error("Redis PIPELINE partial error: commands={}", responses.size(), e);
+            return false;
+        } catch (Exception e) {
+            failAll(responses);
+            log.error("Redis PIPELINE error: commands={}", responses.size(), e);
+            return false;
+        }
+    }
+
+    List<Response<?>> responses() {
+        return Collections.unmodifiableList(responses);
+    }
+
+    Set<String> writtenKeys() {
+        return Collections.unmodifiableSet(writtenKeys);
+    }
+
+    /**
+     * Gán kết quả theo thứ tự lệnh.
+     * - Số kết quả = số lệnh: gán theo vị trí
+     * - Số kết quả = số lệnh không phải status: driver đã bỏ status reply -> gán cho các lệnh còn lại,
+     *   lệnh status coi là thành công (lệnh status lỗi thì driver ném RedisPipelineException)
+     * - Khác: đánh dấu lỗi toàn bộ (không gán lệch kết quả của lệnh này cho lệnh khác)
+     */
+    static boolean complete(List<Response<?>> responses, List<Object> results) {
+        if (results == null) {
+            failAll(responses);
+            return false;
+        }
+        if (results.size() == responses.size()) {
+            for (int i = 0; i < responses.size(); i++) {
+                complete(responses.get(i), results.get(i));
+            }
+            return true;
+        }
+
+        long valueCommands = responses.stream().filter(response -> !response.status).count();
+        if (results.size() != valueCommands) {
+            failAll(responses);
+            return false;
+        }
+        int next = 0;
+        for (Response<?> response : responses) {
+            complete(response, response.status ? "OK" : results.get(next++));
+        }
+        return true;
+    }
+
+    private static void complete(Response<?> response, Object raw) {
+        if (raw instanceof Throwable)
+            response.fail();
+        else
+            response.complete(raw);
+    }
+
+    static void failAll(List<Response<?>> responses) {
+        responses.forEach(Response::fail);
+    }
+
+    private static Boolean toBoolean(Object raw) {
+        if (raw instanceof Boolean b)
+            return b;
+        if (raw instanceof Number n)
+            return n.longValue() > 0;
+        return "OK".equals(raw) || Boolean.parseBoolean(String.valueOf(raw));
+    }
+
+    private static Long toLong(Object raw) {
+        if (raw instanceof Number n)
+            return n.longValue();
+        return Long.valueOf(String.valueOf(raw));
+    }
+}
@@ -0,0 +1,77 @@
+package com.base.demo.components;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight trong 1 instance: các caller đồng thời cùng (group, key) dùng chung 1 lần load.
+ * Thread đầu tiên (leader) chạy loader, các thread sau (follower) chờ kết quả của leader.
+ * Kết quả trả về là cùng 1 object cho mọi caller -> caller không được sửa object trả về.
+ * Metric: singleflight.calls{group, role=leader|follower}; tỉ lệ coalescing = follower / (leader + follower).
+ */
+@Slf4j
+@Component
+public class SingleFlightComponent {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter[]> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlightComponent(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize("singleflight.inflight", List.of(), inFlight);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String group, String key, Supplier<T> loader) {
+        String flightKey = group + ":" + key;
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, future);
+
+        if (existing != null) {
+            counters(group)[1].increment();
+            return (T) await(existing);
+        }
+
+        counters(group)[0].increment();
+        try {
+            T value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, future);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Ném lại đúng exception của leader (ResourceNotFoundException...) cho follower
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if (e.getCause() instanceof Error error)
+                throw error;
+            throw e;
+        }
+    }
+
+    private Counter[] counters(String group) {
+        return counters.computeIfAbsent(group, g -> new Counter[] {
+                meterRegistry.counter("singleflight.calls", "group", g, "role", "leader"),
+                meterRegistry.counter("singleflight.calls", "group", g, "role", "follower")
+        });
+    }
+}
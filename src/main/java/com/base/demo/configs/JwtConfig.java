@@ -0,0 +1,81 @@
+package com.base.demo.configs;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.security.converter.RsaKeyConverters;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+
+/**
+ * JWT (RS256) cho access token: ký bằng private key, verify local bằng public key.
+ * Key đọc từ file PEM (jwt.private-key-location / jwt.public-key-location),
+ * bắt buộc ngoài profile dev/test (k8s mount từ Secret jwt-keys) để mọi replica verify được token của nhau.
+ * Profile dev/test không cấu hình thì sinh key tạm khi khởi động (token mất hiệu lực khi restart).
+ */
+@Slf4j
+@Configuration
+public class JwtConfig {
+
+    @Value("${jwt.issuer}")
+    private String issuer;
+
+    @Value("${jwt.public-key-location:}")
+    private String publicKeyLocation;
+
+    @Value("${jwt.private-key-location:}")
+    private String privateKeyLocation;
+
+    @Bean
+    public KeyPair jwtKeyPair(ResourceLoader resourceLoader, Environment environment)
+            throws IOException, NoSuchAlgorithmException {
+        if (publicKeyLocation.isBlank() || privateKeyLocation.isBlank()) {
+            if (!environment.matchesProfiles("dev | test")) {
+                throw new IllegalStateException("Chưa cấu hình jwt.public-key-location/jwt.private-key-location: "
+                        + "bắt buộc ngoài profile dev/test (key tạm mỗi replica 1 khác, token không verify chéo được)");
+            }
+            log.warn("Chưa cấu hình jwt.public-key-location/jwt.private-key-location, dùng RSA key tạm thời");
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        }
+
+        try (InputStream publicKey = resourceLoader.getResource(publicKeyLocation).getInputStream();
+                InputStream privateKey = resourceLoader.getResource(privateKeyLocation).getInputStream()) {
+            return new KeyPair(RsaKeyConverters.x509().convert(publicKey),
+                    RsaKeyConverters.pkcs8().convert(privateKey));
+        }
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(KeyPair jwtKeyPair) {
+        RSAKey rsaKey = new RSAKey.Builder((RSAPublicKey) jwtKeyPair.getPublic())
+                .privateKey((RSAPrivateKey) jwtKeyPair.getPrivate())
+                .build();
+        return new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(rsaKey)));
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(KeyPair jwtKeyPair) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) jwtKeyPair.getPublic()).build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+        return decoder;
+    }
+}
@@ -0,0 +1,35 @@
+package com.base.demo.configs;
+
+import com.base.demo.constants.enums.role.Permission;
+import com.base.demo.services.oauth.AppOAuth2User;
+import com.base.demo.services.permission.PermissionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kiểm tra quyền theo request: lấy userId từ principal, test bit trên permission bitset đã cache.
+ * Không join user_roles/roles ở mỗi request.
+ */
+@Component
+@RequiredArgsConstructor
+public class PermissionAuthorizationManager {
+
+    private final PermissionService permissionService;
+
+    public AuthorizationManager<RequestAuthorizationContext> hasPermission(Permission permission) {
+        return (authentication, context) -> new AuthorizationDecision(isGranted(authentication.get(), permission));
+    }
+
+    private boolean isGranted(Authentication authentication, Permission permission) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof AppOAuth2User user)) {
+            return false;
+        }
+
+        return permissionService.hasPermission(user.getUserId(), permission);
+    }
+}
@@ -1,23 +1,44 @@
 package com.base.demo.configs;
 
+import com.base.demo.constants.enums.role.Permission;
+import com.base.demo.services.auth.AccessTokenService;
 import com.base.demo.services.oauth.CustomOAuth2UserService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AuthorizeHttpRequestsConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.security.web.header.writers.XXssProtectionHeaderWriter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.util.StringUtils;
 
 @Configuration
 public class SecurityConfig {
 
+    /** Request /api/** có header "Authorization: Bearer ..." -> xử lý stateless bằng JWT. */
+    private static final RequestMatcher BEARER_API_REQUEST = request ->
+            request.getRequestURI().startsWith(request.getContextPath() + "/api/")
+                    && StringUtils.startsWithIgnoreCase(request.getHeader(HttpHeaders.AUTHORIZATION), "Bearer ");
+
     private final CustomOAuth2UserService customOAuth2UserService;
 
-    public SecurityConfig(CustomOAuth2UserService customOAuth2UserService) {
+    private final AccessTokenService accessTokenService;
+
+    private final PermissionAuthorizationManager permissions;
+
+    public SecurityConfig(CustomOAuth2UserService customOAuth2UserService, AccessTokenService accessTokenService,
+            PermissionAuthorizationManager permissions) {
         this.customOAuth2UserService = customOAuth2UserService;
+        this.accessTokenService = accessTokenService;
+        this.permissions = permissions;
     }
 
     @Bean
@@ -25,7 +46,26 @@ public class SecurityConfig {
         return new BCryptPasswordEncoder();
     }
 
+    /**
+     * API chain (stateless): verify access token local bằng public key,
+     * không tạo/đọc session, không query identity.
+     */
     @Bean
+    @Order(1)
+    public SecurityFilterChain apiTokenFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(BEARER_API_REQUEST)
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> authorizeApi(auth)
+                        .anyRequest().authenticated())
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .jwt(jwt -> jwt.jwtAuthenticationConverter(accessTokenService::toAuthentication)));
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 // CSRF: Enable for web forms, disable only for stateless API endpoints
@@ -41,7 +81,7 @@ public class SecurityConfig {
                         }) // X-Content-Type-Options: nosniff
                         .referrerPolicy(referrer -> referrer
                                 .policy(ReferrerPolicyHeaderWriter.ReferrerPolicy.STRICT_ORIGIN_WHEN_CROSS_ORIGIN)))
-                .authorizeHttpRequests(auth -> auth
+                .authorizeHttpRequests(auth -> authorizeApi(auth)
                         .requestMatchers("/", "/login", "/oauth2/**", "/error", "/actuator/health",
                                 "/actuator/prometheus")
                         .permitAll()
@@ -53,4 +93,20 @@ public class SecurityConfig {
                         .failureUrl("/login/failure"));
         return http.build();
     }
+
+    /**
+     * Quyền cho các API quản trị, dùng chung cho cả 2 chain.
+     * /api/v1/admin/** chưa có rule riêng thì chặn mặc định: controller admin mới phải khai báo quyền ở đây.
+     */
+    private AuthorizeHttpRequestsConfigurer<HttpSecurity>.AuthorizationManagerRequestMatcherRegistry authorizeApi(
+            AuthorizeHttpRequestsConfigurer<HttpSecurity>.AuthorizationManagerRequestMatcherRegistry auth) {
+        return auth
+                .requestMatchers("/api/v1/admin/wallets/**").access(permissions.hasPermission(Permission.WALLET_REVIEW))
+                .requestMatchers("/api/v1/admin/users/**").access(permissions.hasPermission(Permission.USER_MANAGE))
+                .requestMatchers("/api/v1/admin/**").denyAll()
+                .requestMatchers("/api/v1/users/**").access(permissions.hasPermission(Permission.USER_READ))
+                .requestMatchers(HttpMethod.POST, "/api/v1/roles/**").access(permissions.hasPermission(Permission.ROLE_MANAGE))
+                .requestMatchers(HttpMethod.PATCH, "/api/v1/roles/**").access(permissions.hasPermission(Permission.ROLE_MANAGE))
+                .requestMatchers(HttpMethod.DELETE, "/api/v1/roles/**").access(permissions.hasPermission(Permission.ROLE_MANAGE));
+    }
 }
@@ -0,0 +1,57 @@
+package com.base.demo.configs;
+
+import com.base.demo.configs.ratelimit.RateLimitInterceptor;
+import com.base.demo.configs.ratelimit.RateLimitProperties;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    /** Builder của Spring Boot (đã áp dụng spring.jackson.* và các customizer), scope prototype. */
+    private final Jackson2ObjectMapperBuilder jacksonBuilder;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/**");
+    }
+
+    /**
+     * Smile (application/x-jackson-smile) và CBOR (application/cbor) cạnh JSON, chọn theo Accept/Content-Type.
+     * Dùng chung cấu hình Jackson với JSON nên cùng DTO, cùng envelope ApiResponse/ErrorResponse.
+     * Đặt ngay sau converter JSON: client không gửi Accept vẫn nhận JSON như cũ.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+
+        int jsonIndex = 0;
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                jsonIndex = i;
+                break;
+            }
+        }
+        converters.add(jsonIndex + 1, new MappingJackson2SmileHttpMessageConverter(
+                jacksonBuilder.factory(new SmileFactory()).build()));
+        converters.add(jsonIndex + 2, new MappingJackson2CborHttpMessageConverter(
+                jacksonBuilder.factory(new CBORFactory()).build()));
+    }
+}
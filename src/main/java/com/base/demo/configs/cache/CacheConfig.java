@@ -0,0 +1,108 @@
+package com.base.demo.configs.cache;
+
+import com.base.demo.configs.cache.TwoLevelCacheManager.CacheRegion;
+import com.base.demo.constants.CacheNames;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Spring Cache 2 tầng (Caffeine L1 + Redis L2).
+ * TTL/size khai báo theo từng region bên dưới.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private static final CacheRegion DEFAULT_REGION =
+            new CacheRegion(Duration.ofMinutes(1), 1_000, Duration.ofMinutes(10));
+
+    private static final Map<String, CacheRegion> REGIONS = Map.of(
+            CacheNames.ROLES, new CacheRegion(Duration.ofMinutes(1), 500, Duration.ofMinutes(10)),
+            CacheNames.USER_IDENTITIES, new CacheRegion(Duration.ofMinutes(5), 10_000, Duration.ofMinutes(30)),
+            CacheNames.WALLET_STATUS, new CacheRegion(Duration.ofSeconds(30), 10_000, Duration.ofMinutes(5)),
+            CacheNames.WALLET_IDS, new CacheRegion(Duration.ofMinutes(10), 10_000, Duration.ofHours(6)),
+            CacheNames.WALLET_VERSIONS, new CacheRegion(Duration.ofSeconds(10), 10_000, Duration.ofMinutes(10)),
+            CacheNames.USER_PERMISSIONS, new CacheRegion(Duration.ofMinutes(1), 10_000, Duration.ofMinutes(30)),
+            // Tổng số bản ghi xấp xỉ theo từng tổ hợp filter, không evict khi ghi -> sai lệch tối đa 1 TTL
+            CacheNames.ROLE_COUNTS, new CacheRegion(Duration.ofSeconds(30), 1_000, Duration.ofMinutes(2)));
+
+    /**
+     * Chỉ cho phép type info trỏ tới class của ứng dụng và JDK cơ bản:
+     * ai ghi được vào Redis cũng không thể khiến app khởi tạo class tuỳ ý (deserialization gadget).
+     */
+    private static final PolymorphicTypeValidator CACHE_TYPE_VALIDATOR = BasicPolymorphicTypeValidator.builder()
+            .allowIfSubType("com.base.demo.")
+            .allowIfSubType("java.util.")
+            .allowIfSubType("java.lang.")
+            .allowIfSubType("java.math.")
+            .allowIfSubType("java.time.")
+            .build();
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory factory, ObjectMapper redisObjectMapper,
+            StringRedisTemplate stringRedisTemplate, RedisMessageListenerContainer redisMessageListenerContainer,
+            MeterRegistry meterRegistry) {
+        String instanceId = UUID.randomUUID().toString();
+        CacheInvalidationPublisher publisher = new CacheInvalidationPublisher(stringRedisTemplate, instanceId);
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(REGIONS, DEFAULT_REGION,
+                cacheRedisTemplate(factory, redisObjectMapper), publisher, meterRegistry, instanceId);
+        redisMessageListenerContainer.addMessageListener(cacheManager,
+                new ChannelTopic(CacheInvalidationPublisher.CHANNEL));
+        return cacheManager;
+    }
+
+    /**
+     * RedisTemplate riêng cho L2: JSON có type info để đọc lại đúng kiểu (entity, DTO, enum...).
+     * Không đăng ký thành bean để không trùng với redisTemplate chung.
+     */
+    private RedisTemplate<String, Object> cacheRedisTemplate(RedisConnectionFactory factory,
+            ObjectMapper redisObjectMapper) {
+        ObjectMapper cacheObjectMapper = redisObjectMapper.copy();
+        cacheObjectMapper.setDefaultTyping(new CacheTypeResolverBuilder()
+                .init(JsonTypeInfo.Id.CLASS, null)
+                .inclusion(JsonTypeInfo.As.PROPERTY));
+
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(factory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new GenericJackson2JsonRedisSerializer(cacheObjectMapper));
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * Type info cho mọi type, kể cả final (Long, String, enum, record): NON_FINAL sẽ đọc Long của WALLET_IDS
+     * thành Integer và enum của WALLET_STATUS thành String. Class được phép do CACHE_TYPE_VALIDATOR quyết định.
+     */
+    private static class CacheTypeResolverBuilder extends ObjectMapper.DefaultTypeResolverBuilder {
+
+        CacheTypeResolverBuilder() {
+            super(ObjectMapper.DefaultTyping.NON_FINAL, CACHE_TYPE_VALIDATOR);
+        }
+
+        @Override
+        public boolean useForType(JavaType type) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.base.demo.configs.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Publish message invalidation L1 qua Redis pub/sub.
+ * Format: EVICT|instanceId|cacheName|key hoặc CLEAR|instanceId|cacheName
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationPublisher {
+
+    public static final String CHANNEL = "app:cache:invalidation";
+    static final String EVICT = "EVICT";
+    static final String CLEAR = "CLEAR";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String instanceId;
+
+    public void publishEvict(String cacheName, String key) {
+        publish(EVICT + "|" + instanceId + "|" + cacheName + "|" + key);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(CLEAR + "|" + instanceId + "|" + cacheName);
+    }
+
+    private void publish(String message) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, message);
+        } catch (Exception e) {
+            log.error("Cache invalidation PUBLISH error: message={}", message, e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.base.demo.configs.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache 2 tầng: L1 Caffeine (in-process) -> L2 Redis -> loader.
+ * Mọi thay đổi (put/evict/clear) được publish để các replica khác xoá L1 tương ứng.
+ * Không cache null (dùng unless = "#result == null" ở @Cacheable).
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<String, Object> localCache;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Duration remoteTtl;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    public TwoLevelCache(String name, Cache<String, Object> localCache, RedisTemplate<String, Object> redisTemplate,
+            Duration remoteTtl, CacheInvalidationPublisher invalidationPublisher, Counter remoteHits,
+            Counter remoteMisses) {
+        super(false);
+        this.name = name;
+        this.localCache = localCache;
+        this.redisTemplate = redisTemplate;
+        this.remoteTtl = remoteTtl;
+        this.invalidationPublisher = invalidationPublisher;
+        this.remoteHits = remoteHits;
+        this.remoteMisses = remoteMisses;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return localCache;
+    }
+
+    // ==================== READ ====================
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = String.valueOf(key);
+        Object value = localCache.getIfPresent(cacheKey);
+        if (value != null)
+            return value;
+
+        value = getRemote(cacheKey);
+        if (value != null)
+            localCache.put(cacheKey, value);
+        return value;
+    }
+
+    /** Dùng cho @Cacheable(sync = true): mỗi key chỉ 1 thread load trong 1 instance. */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = localCache.get(String.valueOf(key), k -> {
+            Object remote = getRemote(k);
+            if (remote != null)
+                return remote;
+            try {
+                T loaded = valueLoader.call();
+                if (loaded != null)
+                    putRemote(k, loaded);
+                return loaded;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(k, valueLoader, e);
+            }
+        });
+        return (T) value;
+    }
+
+    // ==================== WRITE ====================
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        String cacheKey = String.valueOf(key);
+        localCache.put(cacheKey, value);
+        putRemote(cacheKey, value);
+        invalidationPublisher.publishEvict(name, cacheKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = String.valueOf(key);
+        localCache.invalidate(cacheKey);
+        try {
+            redisTemplate.delete(remoteKey(cacheKey));
+        } catch (Exception e) {
+            log.error("Cache L2 EVICT error: cache={}, key={}", name, cacheKey, e);
+        }
+        invalidationPublisher.publishEvict(name, cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        localCache.invalidateAll();
+        try {
+            List<String> keys = new ArrayList<>();
+            ScanOptions options = ScanOptions.scanOptions().match(remoteKey("*")).count(500).build();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                cursor.forEachRemaining(keys::add);
+            }
+            if (!keys.isEmpty())
+                redisTemplate.delete(keys);
+        } catch (Exception e) {
+            log.error("Cache L2 CLEAR error: cache={}", name, e);
+        }
+        invalidationPublisher.publishClear(name);
+    }
+
+    // ==================== INVALIDATION (từ replica khác) ====================
+
+    void evictLocal(String key) {
+        localCache.invalidate(key);
+    }
+
+    void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    // ==================== L2 ====================
+
+    private Object getRemote(String key) {
+        try {
+            Object value = redisTemplate.opsForValue().get(remoteKey(key));
+            (value != null ? remoteHits : remoteMisses).increment();
+            return value;
+        } catch (Exception e) {
+            log.error("Cache L2 GET error: cache={}, key={}", name, key, e);
+            return null;
+        }
+    }
+
+    private void putRemote(String key, Object value) {
+        try {
+            redisTemplate.opsForValue().set(remoteKey(key), value, remoteTtl);
+        } catch (Exception e) {
+            log.error("Cache L2 SET error: cache={}, key={}", name, key, e);
+        }
+    }
+
+    private String remoteKey(String key) {
+        return "app:cache:" + name + ":" + key;
+    }
+}
@@ -0,0 +1,94 @@
+package com.base.demo.configs.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CacheManager cho TwoLevelCache. Region không khai báo sẽ dùng defaultRegion.
+ * Đồng thời là MessageListener nhận invalidation từ các replica khác.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    /** Cấu hình 1 region: TTL/size của L1 và TTL của L2. */
+    public record CacheRegion(Duration localTtl, long localMaxSize, Duration remoteTtl) {
+    }
+
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final Map<String, CacheRegion> regions;
+    private final CacheRegion defaultRegion;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final MeterRegistry meterRegistry;
+    private final String instanceId;
+
+    public TwoLevelCacheManager(Map<String, CacheRegion> regions, CacheRegion defaultRegion,
+            RedisTemplate<String, Object> redisTemplate, CacheInvalidationPublisher invalidationPublisher,
+            MeterRegistry meterRegistry, String instanceId) {
+        this.regions = regions;
+        this.defaultRegion = defaultRegion;
+        this.redisTemplate = redisTemplate;
+        this.invalidationPublisher = invalidationPublisher;
+        this.meterRegistry = meterRegistry;
+        this.instanceId = instanceId;
+        regions.keySet().forEach(this::getCache);
+    }
+
+    @Override
+    public org.springframework.cache.Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private TwoLevelCache createCache(String name) {
+        CacheRegion region = regions.getOrDefault(name, defaultRegion);
+        Cache<String, Object> localCache = Caffeine.newBuilder()
+                .expireAfterWrite(region.localTtl())
+                .maximumSize(region.localMaxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, name, Tags.of("tier", "l1"));
+
+        return new TwoLevelCache(name, localCache, redisTemplate, region.remoteTtl(), invalidationPublisher,
+                meterRegistry.counter("cache.l2.gets", "cache", name, "result", "hit"),
+                meterRegistry.counter("cache.l2.gets", "cache", name, "result", "miss"));
+    }
+
+    // ==================== INVALIDATION ====================
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 3 || instanceId.equals(parts[1]))
+            return;
+
+        TwoLevelCache cache = caches.get(parts[2]);
+        if (cache == null)
+            return;
+
+        if (CacheInvalidationPublisher.CLEAR.equals(parts[0])) {
+            cache.clearLocal();
+        } else if (CacheInvalidationPublisher.EVICT.equals(parts[0]) && parts.length == 4) {
+            cache.evictLocal(parts[3]);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.base.demo.configs.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ghi nhận virtual thread bị pin vào carrier thread qua JFR (jdk.VirtualThreadPinned).
+ * Mỗi event được gán component theo stack trace (RedisLockComponent, Redisson, MySQL driver, Kafka...)
+ * -> metric jvm.threads.virtual.pinned{component} + danh sách event gần nhất cho actuator /vthreads.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "diagnostics.virtual-thread-pinning.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+    private static final int STACK_DEPTH = 12;
+
+    /** Thứ tự ưu tiên: khớp frame đầu tiên theo prefix. */
+    private static final Map<String, String> COMPONENTS = new LinkedHashMap<>();
+
+    static {
+        COMPONENTS.put("com.base.demo.components.RedisLockComponent", "redis-lock");
+        COMPONENTS.put("org.redisson.", "redisson");
+        COMPONENTS.put("com.mysql.cj.", "mysql");
+        COMPONENTS.put("com.zaxxer.hikari.", "hikari");
+        COMPONENTS.put("org.apache.kafka.", "kafka");
+        COMPONENTS.put("io.netty.", "netty");
+    }
+
+    public record PinnedEvent(Instant at, long durationMs, String component, String thread, List<String> frames) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final int maxRecentEvents;
+    private final Map<String, LongAdder> pinnedCounts = new ConcurrentHashMap<>();
+    private final Deque<PinnedEvent> recentEvents = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger recentSize = new AtomicInteger();
+    private final LongAdder submitFailed = new LongAdder();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+            @Value("${diagnostics.virtual-thread-pinning.threshold:20ms}") Duration threshold,
+            @Value("${diagnostics.virtual-thread-pinning.recent-events:100}") int maxRecentEvents) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+        this.maxRecentEvents = maxRecentEvents;
+    }
+
+    // ==================== LIFECYCLE ====================
+
+    @Override
+    public void start() {
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recording.enable(SUBMIT_FAILED_EVENT);
+            recording.onEvent(PINNED_EVENT, this::onPinned);
+            recording.onEvent(SUBMIT_FAILED_EVENT, event -> submitFailed.increment());
+            recording.startAsync();
+            stream = recording;
+            log.info("Virtual thread pinning monitor started (threshold={})", threshold);
+        } catch (Exception e) {
+            log.warn("Không thể khởi động JFR pinning monitor: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null)
+            recording.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    // ==================== EVENTS ====================
+
+    private void onPinned(RecordedEvent event) {
+        List<String> frames = topFrames(event.getStackTrace());
+        String component = classify(event.getStackTrace());
+        Duration duration = event.getDuration();
+
+        pinnedCounts.computeIfAbsent(component, c -> new LongAdder()).increment();
+        Timer.builder("jvm.threads.virtual.pinned")
+                .tag("component", component)
+                .register(meterRegistry)
+                .record(duration);
+
+        recentEvents.addFirst(new PinnedEvent(event.getStartTime(), duration.toMillis(), component,
+                event.getThread() != null ? event.getThread().getJavaName() : null, frames));
+        if (recentSize.incrementAndGet() > maxRecentEvents && recentEvents.pollLast() != null)
+            recentSize.decrementAndGet();
+
+        if (!"other".equals(component)) {
+            log.warn("Virtual thread pinned {}ms trong {}: {}", duration.toMillis(), component,
+                    frames.isEmpty() ? "?" : frames.get(0));
+        }
+    }
+
+    private String classify(RecordedStackTrace stackTrace) {
+        if (stackTrace == null)
+            return "other";
+        for (Map.Entry<String, String> component : COMPONENTS.entrySet()) {
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                if (frame.getMethod() != null
+                        && frame.getMethod().getType().getName().startsWith(component.getKey())) {
+                    return component.getValue();
+                }
+            }
+        }
+        return "other";
+    }
+
+    private List<String> topFrames(RecordedStackTrace stackTrace) {
+        List<String> frames = new ArrayList<>();
+        if (stackTrace == null)
+            return frames;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frames.size() == STACK_DEPTH)
+                break;
+            if (frame.getMethod() != null) {
+                frames.add(frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber());
+            }
+        }
+        return frames;
+    }
+
+    // ==================== SNAPSHOT (actuator) ====================
+
+    public Map<String, Long> getPinnedCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        pinnedCounts.forEach((component, count) -> counts.put(component, count.sum()));
+        return counts;
+    }
+
+    public List<PinnedEvent> getRecentEvents() {
+        return List.copyOf(recentEvents);
+    }
+
+    public long getSubmitFailedCount() {
+        return submitFailed.sum();
+    }
+
+    public Duration getThreshold() {
+        return threshold;
+    }
+}
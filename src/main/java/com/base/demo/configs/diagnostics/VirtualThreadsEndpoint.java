@@ -0,0 +1,43 @@
+package com.base.demo.configs.diagnostics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET /actuator/vthreads: trạng thái virtual thread mode và các event pinning gần nhất.
+ */
+@Component
+@Endpoint(id = "vthreads")
+public class VirtualThreadsEndpoint {
+
+    private final ObjectProvider<VirtualThreadPinningMonitor> monitor;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    public VirtualThreadsEndpoint(ObjectProvider<VirtualThreadPinningMonitor> monitor) {
+        this.monitor = monitor;
+    }
+
+    @ReadOperation
+    public Map<String, Object> vthreads() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("virtualThreadsEnabled", virtualThreadsEnabled);
+
+        VirtualThreadPinningMonitor pinningMonitor = monitor.getIfAvailable();
+        result.put("pinningMonitor", pinningMonitor != null && pinningMonitor.isRunning());
+        if (pinningMonitor != null) {
+            result.put("threshold", pinningMonitor.getThreshold().toString());
+            result.put("pinnedCounts", pinningMonitor.getPinnedCounts());
+            result.put("submitFailed", pinningMonitor.getSubmitFailedCount());
+            result.put("recentEvents", pinningMonitor.getRecentEvents());
+        }
+        return result;
+    }
+}
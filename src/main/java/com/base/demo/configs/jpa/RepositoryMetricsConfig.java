@@ -0,0 +1,40 @@
+package com.base.demo.configs.jpa;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Repository Metrics Configuration.
+ * - Timer + histogram cho mọi repository method: Spring Boot Actuator tự ghi
+ *   metric spring.data.repository.invocations (bật histogram trong application.properties)
+ * - Slow query: gắn SlowQueryInterceptor vào proxy của từng repository
+ * - Hibernate statistics: hibernate-micrometer + hibernate.generate_statistics
+ */
+@Configuration
+public class RepositoryMetricsConfig {
+
+    /**
+     * Static để BeanPostProcessor được đăng ký trước khi các repository factory bean khởi tạo.
+     */
+    @Bean
+    public static BeanPostProcessor slowQueryRepositoryPostProcessor(
+            @Value("${jpa.slow-query.threshold-ms:200}") long thresholdMs,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(new SlowQueryInterceptor(
+                                    repositoryInformation.getRepositoryInterface(), thresholdMs, meterRegistry))));
+                }
+                return bean;
+            }
+        };
+    }
+}
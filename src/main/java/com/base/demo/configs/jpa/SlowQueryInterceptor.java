@@ -0,0 +1,85 @@
+package com.base.demo.configs.jpa;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ghi log các repository call chậm hơn ngưỡng cùng "shape" của bind parameters.
+ * Chỉ log kiểu/kích thước tham số, không log giá trị (tránh lộ dữ liệu người dùng).
+ */
+@Slf4j
+public class SlowQueryInterceptor implements MethodInterceptor {
+
+    private final String repositoryName;
+    private final long thresholdNanos;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public SlowQueryInterceptor(Class<?> repositoryInterface, long thresholdMs,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= thresholdNanos) {
+                recordSlowQuery(invocation, elapsed);
+            }
+        }
+    }
+
+    private void recordSlowQuery(MethodInvocation invocation, long elapsedNanos) {
+        String method = invocation.getMethod().getName();
+        log.warn("Slow repository query: {}.{} took {}ms, params={}", repositoryName, method,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), describeArguments(invocation.getArguments()));
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.counter("spring.data.repository.slow", "repository", repositoryName, "method", method)
+                    .increment();
+        }
+    }
+
+    private String describeArguments(Object[] arguments) {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        Arrays.stream(arguments).map(this::describe).forEach(joiner::add);
+        return joiner.toString();
+    }
+
+    private String describe(Object argument) {
+        if (argument == null)
+            return "null";
+        if (argument instanceof Enum<?> value)
+            return value.getDeclaringClass().getSimpleName() + "." + value.name();
+        if (argument instanceof Pageable pageable)
+            return pageable.isPaged()
+                    ? "Pageable(page=" + pageable.getPageNumber() + ", size=" + pageable.getPageSize() + ")"
+                    : "Pageable(unpaged)";
+        if (argument instanceof Collection<?> collection)
+            return argument.getClass().getSimpleName() + "[" + collection.size() + "]";
+        if (argument instanceof Map<?, ?> map)
+            return argument.getClass().getSimpleName() + "[" + map.size() + "]";
+        if (argument instanceof CharSequence text)
+            return "String(len=" + text.length() + ")";
+        if (argument instanceof Optional<?> optional)
+            return optional.map(value -> "Optional(" + describe(value) + ")").orElse("Optional.empty");
+        return argument.getClass().getSimpleName();
+    }
+}
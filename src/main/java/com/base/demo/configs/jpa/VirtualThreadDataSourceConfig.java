@@ -0,0 +1,38 @@
+package com.base.demo.configs.jpa;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Chỉ khi spring.threads.virtual.enabled=true: request không còn bị giới hạn bởi Tomcat thread pool
+ * nên Hikari pool là nơi xếp hàng -> chờ connection ngắn (db.virtual-threads.connection-timeout)
+ * để fail-fast thay vì treo hàng nghìn virtual thread 30s. Platform thread giữ mặc định của Hikari.
+ * Đặt spring.datasource.hikari.connection-timeout thì giá trị đó được giữ nguyên.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadDataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor virtualThreadHikariTimeout(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && !environment.containsProperty("spring.datasource.hikari.connection-timeout")) {
+                    Duration timeout = environment.getProperty("db.virtual-threads.connection-timeout",
+                            Duration.class, Duration.ofSeconds(3));
+                    dataSource.setConnectionTimeout(timeout.toMillis());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package com.base.demo.configs.ratelimit;
+
+import com.base.demo.components.RateLimiterComponent;
+import com.base.demo.components.RateLimiterComponent.Decision;
+import com.base.demo.configs.ratelimit.RateLimitProperties.Bucket;
+import com.base.demo.configs.ratelimit.RateLimitProperties.EndpointLimit;
+import com.base.demo.exceptions.TooManyRequestsException;
+import com.base.demo.services.oauth.AppOAuth2User;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Áp dụng @RateLimited trước khi vào controller: request bị chặn không tốn lock, query ví/identity.
+ * Redis lỗi -> cho qua (fail-open) và đếm metric result=error.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimitProperties properties;
+    private final RateLimiterComponent rateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled() || !(handler instanceof HandlerMethod handlerMethod))
+            return true;
+
+        RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null)
+            return true;
+
+        String name = rateLimited.value();
+        EndpointLimit limit = properties.getLimits().get(name);
+        if (limit == null) {
+            log.warn("Chưa cấu hình rate-limit.limits.{}", name);
+            return true;
+        }
+
+        List<String> keys = new ArrayList<>(2);
+        List<Bucket> buckets = new ArrayList<>(2);
+        Long userId = currentUserId();
+        if (limit.getUser() != null && userId != null) {
+            keys.add("user:" + userId);
+            buckets.add(limit.getUser());
+        }
+        if (limit.getIp() != null) {
+            keys.add("ip:" + request.getRemoteAddr());
+            buckets.add(limit.getIp());
+        }
+        if (keys.isEmpty())
+            return true;
+
+        Decision decision;
+        try {
+            decision = rateLimiter.tryConsume(name, keys, buckets);
+        } catch (Exception e) {
+            log.error("Rate limit error: limit={}", name, e);
+            count(name, "error");
+            return true;
+        }
+
+        if (decision.allowed()) {
+            count(name, "allowed");
+            return true;
+        }
+
+        count(name, "rejected");
+        long retryAfterSeconds = Math.max(1, (decision.retryAfterMillis() + 999) / 1000);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        throw new TooManyRequestsException(
+                "Bạn thao tác quá nhanh, vui lòng thử lại sau " + retryAfterSeconds + " giây", retryAfterSeconds);
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AppOAuth2User user)
+            return user.getUserId();
+        return null;
+    }
+
+    private void count(String limit, String result) {
+        meterRegistry.counter("rate.limit.requests", "limit", limit, "result", result).increment();
+    }
+}
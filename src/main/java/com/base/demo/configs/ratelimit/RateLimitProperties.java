@@ -0,0 +1,44 @@
+package com.base.demo.configs.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * rate-limit.limits.&lt;name&gt;.user.* / .ip.*: bucket không khai báo thì không áp dụng.
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private Map<String, EndpointLimit> limits = new HashMap<>();
+
+    @Data
+    public static class EndpointLimit {
+        private Bucket user;
+        private Bucket ip;
+    }
+
+    @Data
+    public static class Bucket {
+        /** Số request tối đa dồn (burst). */
+        private int capacity;
+        /** Số token nạp lại mỗi refillPeriod. */
+        private int refillTokens;
+        private Duration refillPeriod = Duration.ofMinutes(1);
+
+        public double tokensPerMillis() {
+            return (double) refillTokens / refillPeriod.toMillis();
+        }
+
+        /** Key hết hạn khi bucket đã nạp đầy (không cần giữ state nữa). */
+        public long ttlMillis() {
+            return (long) Math.ceil(capacity / tokensPerMillis()) + 1_000;
+        }
+    }
+}
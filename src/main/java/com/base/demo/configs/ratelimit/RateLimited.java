@@ -0,0 +1,16 @@
+package com.base.demo.configs.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Đánh dấu endpoint cần rate limit. value = tên limit trong rate-limit.limits.&lt;value&gt;.*
+ * (bucket theo user và/hoặc theo IP, cấu hình trong application.properties).
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    String value();
+}
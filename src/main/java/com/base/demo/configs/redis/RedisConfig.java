@@ -1,14 +1,28 @@
 package com.base.demo.configs.redis;
 
+import com.base.demo.components.RedisComponent;
+import com.base.demo.constants.enums.user.UserStatus;
+import com.base.demo.constants.enums.wallet.WalletStatus;
+import com.base.demo.dtos.role.GetRoleResponse;
+import com.base.demo.dtos.user.GetUserResponse;
+import com.base.demo.dtos.wallet.GetWalletResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
 import org.redisson.codec.JsonJacksonCodec;
+import org.redisson.config.BaseConfig;
 import org.redisson.config.Config;
+import org.redisson.config.ReadMode;
 import org.redisson.spring.data.connection.RedissonConnectionFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,8 +30,20 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Redisson Configuration - Production-grade distributed Redis client.
@@ -28,9 +54,12 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
  * - Cluster/Sentinel support
  * - Async/Reactive API
  */
+@Slf4j
 @Configuration
 public class RedisConfig {
 
+    public static final String READ_TEMPLATE = "redisReadTemplate";
+
     @Value("${spring.data.redis.host:localhost}")
     private String redisHost;
 
@@ -43,6 +72,42 @@ public class RedisConfig {
     @Value("${spring.data.redis.database:0}")
     private int redisDatabase;
 
+    /** single | sentinel | cluster */
+    @Value("${redis.mode:single}")
+    private String redisMode;
+
+    @Value("${redis.sentinel.master:mymaster}")
+    private String sentinelMaster;
+
+    @Value("${redis.sentinel.nodes:}")
+    private String sentinelNodes;
+
+    @Value("${redis.cluster.nodes:}")
+    private String clusterNodes;
+
+    /** master | replica | master_replica: nơi RedisComponent gửi lệnh đọc. */
+    @Value("${redis.read-mode:master}")
+    private String readMode;
+
+    /** Client đọc replica (chỉ tạo khi bật read-mode replica). */
+    private RedissonClient readClient;
+
+    /** smile: ghi codec nhị phân (SmileRedisSerializer), json: ghi Jackson JSON như trước. Cả 2 đều đọc được Smile. */
+    @Value("${redis.codec:json}")
+    private String redisCodec;
+
+    @Value("${redis.codec.compression-threshold:1024}")
+    private int compressionThreshold;
+
+    /** Số thread xử lý message pub/sub và sức chứa hàng đợi. */
+    @Value("${redis.listener.pool-size:4}")
+    private int listenerPoolSize;
+
+    @Value("${redis.listener.queue-capacity:10000}")
+    private int listenerQueueCapacity;
+
+    private ThreadPoolTaskExecutor listenerExecutor;
+
     /**
      * ObjectMapper chung cho Redis serialization.
      * Tránh tạo duplicate ObjectMapper.
@@ -56,36 +121,122 @@ public class RedisConfig {
     }
 
     /**
-     * Redisson client với Jackson codec.
+     * Id kiểu cho codec nhị phân. Chỉ thêm mới, không đổi/xoá id đã dùng.
+     */
+    @Bean
+    public RedisTypeRegistry redisTypeRegistry() {
+        return new RedisTypeRegistry()
+                .register(1, String.class)
+                .register(2, Long.class)
+                .register(3, Integer.class)
+                .register(4, Boolean.class)
+                .register(5, Double.class)
+                .register(6, BigDecimal.class)
+                .register(7, ArrayList.class)
+                .register(8, LinkedHashMap.class)
+                .register(9, HashMap.class)
+                .register(10, LinkedHashSet.class)
+                .register(11, HashSet.class)
+                .register(100, GetWalletResponse.class)
+                .register(101, GetRoleResponse.class)
+                .register(102, GetUserResponse.class)
+                .register(110, WalletStatus.class)
+                .register(111, UserStatus.class)
+                .register(120, RedisComponent.CacheEnvelope.class);
+    }
+
+    /**
+     * Serializer value dùng chung cho RedisTemplate và Redisson (qua SmileRedissonCodec).
+     * Dữ liệu JSON cũ vẫn đọc được nên đổi codec không cần flush Redis.
+     */
+    @Bean
+    public RedisSerializer<Object> redisValueSerializer(ObjectMapper redisObjectMapper,
+            RedisTypeRegistry redisTypeRegistry, MeterRegistry meterRegistry) {
+        Jackson2JsonRedisSerializer<Object> jsonSerializer = new Jackson2JsonRedisSerializer<>(redisObjectMapper,
+                Object.class);
+        return new SmileRedisSerializer(redisObjectMapper.copyWith(new SmileFactory()), redisTypeRegistry,
+                jsonSerializer, !"json".equalsIgnoreCase(redisCodec), compressionThreshold, meterRegistry);
+    }
+
+    /**
+     * Redisson client với codec theo redis.codec.
      */
     @Bean(destroyMethod = "shutdown")
     @Primary
-    public RedissonClient redissonClient(ObjectMapper redisObjectMapper) {
+    public RedissonClient redissonClient(ObjectMapper redisObjectMapper,
+            @Qualifier("redisValueSerializer") RedisSerializer<Object> redisValueSerializer) {
+        // Client chính luôn đọc/ghi trên master: lock, session, rate limit, cache L2 cần read-your-writes
+        return Redisson.create(buildConfig(redisObjectMapper, redisValueSerializer, ReadMode.MASTER));
+    }
+
+    /**
+     * Config Redisson theo redis.mode:
+     * - single: 1 node (dev)
+     * - sentinel: Redisson theo dõi sentinel, failover tự chuyển master không cần redeploy
+     * - cluster: Redisson quét topology định kỳ, tự cập nhật slot/master mới
+     */
+    private Config buildConfig(ObjectMapper redisObjectMapper, RedisSerializer<Object> redisValueSerializer,
+            ReadMode readMode) {
         Config config = new Config();
+        String password = redisPassword.isEmpty() ? null : redisPassword;
+
+        switch (redisMode.toLowerCase()) {
+            case "sentinel" -> applyCommon(config.useSentinelServers()
+                    .setMasterName(sentinelMaster)
+                    .addSentinelAddress(toAddresses(sentinelNodes))
+                    .setPassword(password)
+                    .setDatabase(redisDatabase)
+                    .setReadMode(readMode)
+                    .setMasterConnectionPoolSize(64)
+                    .setMasterConnectionMinimumIdleSize(10)
+                    .setSlaveConnectionPoolSize(64)
+                    .setSlaveConnectionMinimumIdleSize(10));
+            case "cluster" -> applyCommon(config.useClusterServers()
+                    .addNodeAddress(toAddresses(clusterNodes))
+                    .setPassword(password)
+                    .setScanInterval(2000)
+                    .setReadMode(readMode)
+                    .setMasterConnectionPoolSize(64)
+                    .setMasterConnectionMinimumIdleSize(10)
+                    .setSlaveConnectionPoolSize(64)
+                    .setSlaveConnectionMinimumIdleSize(10));
+            default -> applyCommon(config.useSingleServer()
+                    .setAddress(String.format("redis://%s:%d", redisHost, redisPort))
+                    .setPassword(password)
+                    .setDatabase(redisDatabase)
+                    .setConnectionPoolSize(64)
+                    .setConnectionMinimumIdleSize(10));
+        }
+
+        Codec jsonCodec = new JsonJacksonCodec(redisObjectMapper);
+        config.setCodec(redisValueSerializer instanceof SmileRedisSerializer smileSerializer
+                ? new SmileRedissonCodec(smileSerializer, jsonCodec)
+                : jsonCodec);
+        return config;
+    }
 
-        // Single server mode (đổi sang cluster/sentinel nếu cần)
-        String address = String.format("redis://%s:%d", redisHost, redisPort);
-        config.useSingleServer()
-                .setAddress(address)
-                .setPassword(redisPassword.isEmpty() ? null : redisPassword)
-                .setDatabase(redisDatabase)
-                .setConnectionPoolSize(64)
-                .setConnectionMinimumIdleSize(10)
-                .setIdleConnectionTimeout(10000)
+    private static <T extends BaseConfig<T>> void applyCommon(T config) {
+        config.setIdleConnectionTimeout(10000)
                 .setConnectTimeout(10000)
                 .setTimeout(3000)
                 .setRetryAttempts(3)
                 .setRetryInterval(1500);
+    }
 
-        config.setCodec(new JsonJacksonCodec(redisObjectMapper));
-
-        return Redisson.create(config);
+    /** "host1:26379,host2:26379" -> ["redis://host1:26379", ...] */
+    private static String[] toAddresses(String nodes) {
+        return Arrays.stream(nodes.split(","))
+                .map(String::trim)
+                .filter(node -> !node.isEmpty())
+                .map(node -> node.contains("://") ? node : "redis://" + node)
+                .toArray(String[]::new);
     }
 
     /**
      * RedisConnectionFactory từ Redisson (tương thích Spring Data Redis).
      */
     @Bean
+    @Primary
     public RedisConnectionFactory redisConnectionFactory(RedissonClient redissonClient) {
         return new RedissonConnectionFactory(redissonClient);
     }
@@ -94,8 +245,9 @@ public class RedisConfig {
      * RedisTemplate cho các operations thông thường.
      */
     @Bean
+    @Primary
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory factory,
-            ObjectMapper redisObjectMapper) {
+            @Qualifier("redisValueSerializer") RedisSerializer<Object> redisValueSerializer) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(factory);
 
@@ -103,15 +255,58 @@ public class RedisConfig {
         template.setKeySerializer(stringSerializer);
         template.setHashKeySerializer(stringSerializer);
 
-        Jackson2JsonRedisSerializer<Object> jsonSerializer = new Jackson2JsonRedisSerializer<>(redisObjectMapper,
-                Object.class);
-        template.setValueSerializer(jsonSerializer);
-        template.setHashValueSerializer(jsonSerializer);
+        template.setValueSerializer(redisValueSerializer);
+        template.setHashValueSerializer(redisValueSerializer);
+
+        template.afterPropertiesSet();
+        return template;
+    }
 
+    /**
+     * RedisTemplate chỉ dùng cho lệnh đọc của RedisComponent.
+     * redis.read-mode=replica/master_replica (sentinel/cluster): client Redisson riêng đọc từ replica,
+     * chấp nhận trễ replication. Ngược lại dùng lại chính redisTemplate (đọc master).
+     */
+    @Bean(READ_TEMPLATE)
+    public RedisTemplate<String, Object> redisReadTemplate(RedisTemplate<String, Object> redisTemplate,
+            ObjectMapper redisObjectMapper,
+            @Qualifier("redisValueSerializer") RedisSerializer<Object> redisValueSerializer) {
+        ReadMode mode = switch (readMode.toLowerCase()) {
+            case "replica" -> ReadMode.SLAVE;
+            case "master_replica" -> ReadMode.MASTER_SLAVE;
+            default -> ReadMode.MASTER;
+        };
+        if (mode == ReadMode.MASTER)
+            return redisTemplate;
+        if ("single".equalsIgnoreCase(redisMode)) {
+            log.warn("redis.read-mode={} bị bỏ qua: redis.mode=single không có replica", readMode);
+            return redisTemplate;
+        }
+
+        readClient = Redisson.create(buildConfig(redisObjectMapper, redisValueSerializer, mode));
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(new RedissonConnectionFactory(readClient));
+        template.setKeySerializer(redisTemplate.getKeySerializer());
+        template.setHashKeySerializer(redisTemplate.getHashKeySerializer());
+        template.setValueSerializer(redisTemplate.getValueSerializer());
+        template.setHashValueSerializer(redisTemplate.getHashValueSerializer());
         template.afterPropertiesSet();
+        log.info("Redis reads của RedisComponent đi tới replica: mode={}, readMode={}", redisMode, mode);
         return template;
     }
 
+    @PreDestroy
+    void shutdownReadClient() {
+        if (readClient != null)
+            readClient.shutdown();
+    }
+
+    @PreDestroy
+    void shutdownListenerExecutor() {
+        if (listenerExecutor != null)
+            listenerExecutor.shutdown();
+    }
+
     /**
      * StringRedisTemplate (giữ lại nếu có code sử dụng).
      */
@@ -119,4 +314,26 @@ public class RedisConfig {
     public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory factory) {
         return new StringRedisTemplate(factory);
     }
+
+    /**
+     * Container cho Redis pub/sub (cache invalidation giữa các replica...).
+     * Listener chạy trên pool bounded thay vì mỗi message 1 thread mới; hàng đợi đầy thì thread
+     * subscription tự chạy listener (chậm lại chứ không bỏ message invalidation).
+     * Executor không khai báo là bean để không thay applicationTaskExecutor của Boot.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory factory) {
+        listenerExecutor = new ThreadPoolTaskExecutor();
+        listenerExecutor.setCorePoolSize(listenerPoolSize);
+        listenerExecutor.setMaxPoolSize(listenerPoolSize);
+        listenerExecutor.setQueueCapacity(listenerQueueCapacity);
+        listenerExecutor.setThreadNamePrefix("redis-listener-");
+        listenerExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        listenerExecutor.initialize();
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.setTaskExecutor(listenerExecutor);
+        return container;
+    }
 }
@@ -0,0 +1,51 @@
+package com.base.demo.configs.redis;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bảng id <-> class cho codec nhị phân của Redis: value ghi kèm id 2 byte thay vì tên class.
+ * Id đã dùng không được đổi/tái sử dụng (dữ liệu cũ trong Redis vẫn mang id đó).
+ * Class chưa đăng ký: ghi tên class, chỉ đọc lại nếu thuộc package cho phép.
+ */
+public class RedisTypeRegistry {
+
+    /** Id 0: không đăng ký, tên class ghi ngay sau header. */
+    public static final short UNREGISTERED = 0;
+
+    private static final String[] ALLOWED_PACKAGES = {
+            "com.base.demo.", "java.lang.", "java.util.", "java.math.", "java.time." };
+
+    private final Map<Short, Class<?>> typesById = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Short> idsByType = new ConcurrentHashMap<>();
+
+    public RedisTypeRegistry register(int id, Class<?> type) {
+        if (id <= UNREGISTERED || id > Short.MAX_VALUE)
+            throw new IllegalArgumentException("Redis type id không hợp lệ: " + id);
+        Class<?> existing = typesById.putIfAbsent((short) id, type);
+        if (existing != null && existing != type)
+            throw new IllegalStateException("Redis type id " + id + " đã dùng cho " + existing.getName());
+        idsByType.put(type, (short) id);
+        return this;
+    }
+
+    public short idOf(Class<?> type) {
+        return idsByType.getOrDefault(type, UNREGISTERED);
+    }
+
+    public Class<?> typeOf(short id) {
+        Class<?> type = typesById.get(id);
+        if (type == null)
+            throw new IllegalStateException("Redis type id chưa đăng ký: " + id);
+        return type;
+    }
+
+    /** Resolve class chưa đăng ký theo tên, chặn class ngoài các package cho phép. */
+    public Class<?> resolve(String className) throws ClassNotFoundException {
+        for (String allowed : ALLOWED_PACKAGES) {
+            if (className.startsWith(allowed))
+                return Class.forName(className, false, RedisTypeRegistry.class.getClassLoader());
+        }
+        throw new ClassNotFoundException("Class không được phép đọc từ Redis: " + className);
+    }
+}
@@ -0,0 +1,189 @@
+package com.base.demo.configs.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codec nhị phân cho value Redis: Smile + type id (RedisTypeRegistry), nén LZ4 khi payload vượt ngưỡng.
+ * Format: [MAGIC][flags][type id: short][tên class nếu id = 0][độ dài gốc: int nếu nén][payload Smile]
+ * Đọc lại đúng kiểu đã ghi -> RedisComponent.get(key, clazz) không phải convertValue.
+ * Value không bắt đầu bằng MAGIC (JSON ghi trước khi đổi codec) được đọc bằng legacy serializer.
+ * writeSmile = false: vẫn đọc được cả 2 format nhưng ghi JSON (bước 1 khi rolling deploy, xem application.properties).
+ * Metric: redis.codec.serialize/deserialize (timer), redis.codec.payload.size{compressed} (bytes ghi xuống Redis).
+ */
+public class SmileRedisSerializer implements RedisSerializer<Object> {
+
+    /** Không phải ký tự mở đầu hợp lệ của JSON -> phân biệt được với dữ liệu cũ. */
+    static final byte MAGIC = (byte) 0xA7;
+    private static final byte FLAG_LZ4 = 0x01;
+    /** Chặn header độ dài giả/hỏng gây cấp phát quá lớn khi giải nén. */
+    private static final int MAX_DECOMPRESSED_SIZE = 64 * 1024 * 1024;
+
+    private final ObjectMapper smileMapper;
+    private final RedisTypeRegistry typeRegistry;
+    private final RedisSerializer<Object> legacySerializer;
+    private final boolean writeSmile;
+    private final int compressionThreshold;
+
+    private final LZ4Compressor compressor = LZ4Factory.fastestJavaInstance().fastCompressor();
+    private final LZ4SafeDecompressor decompressor = LZ4Factory.fastestJavaInstance().safeDecompressor();
+
+    private final Timer serializeTimer;
+    private final Timer deserializeTimer;
+    private final DistributionSummary plainSize;
+    private final DistributionSummary compressedSize;
+
+    /**
+     * @param smileMapper          ObjectMapper dùng SmileFactory (cùng module/feature với JSON)
+     * @param writeSmile           false: ghi bằng legacy serializer (JSON), vẫn đọc được Smile
+     * @param compressionThreshold nén LZ4 khi payload Smile >= ngưỡng (bytes), <= 0 để tắt nén
+     */
+    public SmileRedisSerializer(ObjectMapper smileMapper, RedisTypeRegistry typeRegistry,
+            RedisSerializer<Object> legacySerializer, boolean writeSmile, int compressionThreshold,
+            MeterRegistry meterRegistry) {
+        this.smileMapper = smileMapper;
+        this.typeRegistry = typeRegistry;
+        this.legacySerializer = legacySerializer;
+        this.writeSmile = writeSmile;
+        this.compressionThreshold = compressionThreshold;
+        this.serializeTimer = Timer.builder("redis.codec.serialize").tag("codec", "smile").register(meterRegistry);
+        this.deserializeTimer = Timer.builder("redis.codec.deserialize").tag("codec", "smile").register(meterRegistry);
+        this.plainSize = sizeSummary(meterRegistry, "false");
+        this.compressedSize = sizeSummary(meterRegistry, "true");
+    }
+
+    private static DistributionSummary sizeSummary(MeterRegistry meterRegistry, String compressed) {
+        return DistributionSummary.builder("redis.codec.payload.size")
+                .baseUnit("bytes")
+                .tag("codec", "smile")
+                .tag("compressed", compressed)
+                .register(meterRegistry);
+    }
+
+    public boolean writesSmile() {
+        return writeSmile;
+    }
+
+    // ==================== SERIALIZE ====================
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null)
+            return new byte[0];
+        if (!writeSmile)
+            return legacySerializer.serialize(value);
+
+        long start = System.nanoTime();
+        try {
+            byte[] payload = smileMapper.writeValueAsBytes(value);
+            boolean compress = compressionThreshold > 0 && payload.length >= compressionThreshold;
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload.length + 16);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(MAGIC);
+            out.writeByte(compress ? FLAG_LZ4 : 0);
+
+            Class<?> type = writeType(value);
+            short typeId = typeRegistry.idOf(type);
+            out.writeShort(typeId);
+            if (typeId == RedisTypeRegistry.UNREGISTERED)
+                out.writeUTF(type.getName());
+
+            if (compress) {
+                byte[] compressed = compressor.compress(payload);
+                out.writeInt(payload.length);
+                out.write(compressed);
+            } else {
+                out.write(payload);
+            }
+            out.flush();
+
+            byte[] result = bytes.toByteArray();
+            (compress ? compressedSize : plainSize).record(result.length);
+            return result;
+        } catch (IOException e) {
+            throw new SerializationException("Cannot serialize Redis value: " + value.getClass().getName(), e);
+        } finally {
+            serializeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Collection bất biến (List.of, Map.of...) không khởi tạo lại được -> ghi theo kiểu mutable tương ứng. */
+    private Class<?> writeType(Object value) {
+        Class<?> type = value.getClass();
+        if (typeRegistry.idOf(type) != RedisTypeRegistry.UNREGISTERED)
+            return type;
+        if (value instanceof List<?>)
+            return ArrayList.class;
+        if (value instanceof Map<?, ?>)
+            return LinkedHashMap.class;
+        if (value instanceof Set<?>)
+            return LinkedHashSet.class;
+        if (value instanceof Enum<?> enumValue)
+            return enumValue.getDeclaringClass();
+        return type;
+    }
+
+    // ==================== DESERIALIZE ====================
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0)
+            return null;
+        if (bytes[0] != MAGIC)
+            return legacySerializer.deserialize(bytes);
+
+        long start = System.nanoTime();
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            in.skipBytes(1);
+            byte flags = in.readByte();
+            short typeId = in.readShort();
+            Class<?> type = typeId == RedisTypeRegistry.UNREGISTERED
+                    ? typeRegistry.resolve(in.readUTF())
+                    : typeRegistry.typeOf(typeId);
+
+            byte[] payload;
+            if ((flags & FLAG_LZ4) != 0) {
+                int originalLength = in.readInt();
+                if (originalLength < 0 || originalLength > MAX_DECOMPRESSED_SIZE)
+                    throw new SerializationException("Invalid LZ4 length: " + originalLength);
+                int offset = bytes.length - in.available();
+                payload = new byte[originalLength];
+                int length = decompressor.decompress(bytes, offset, bytes.length - offset, payload, 0);
+                if (length != originalLength)
+                    payload = Arrays.copyOf(payload, length);
+            } else {
+                payload = in.readAllBytes();
+            }
+            return smileMapper.readValue(payload, type);
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            if (e instanceof SerializationException serializationException)
+                throw serializationException;
+            throw new SerializationException("Cannot deserialize Redis value", e);
+        } finally {
+            deserializeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
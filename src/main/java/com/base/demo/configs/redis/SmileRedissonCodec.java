@@ -0,0 +1,66 @@
+package com.base.demo.configs.redis;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+
+import java.io.IOException;
+
+/**
+ * Codec Redisson dùng chung format với SmileRedisSerializer (RedisTemplate).
+ * Dữ liệu Redisson ghi trước khi đổi codec (không có MAGIC) được đọc bằng legacy codec.
+ * Serializer chưa bật ghi Smile (redis.codec=json) -> ghi bằng legacy codec như trước.
+ */
+public class SmileRedissonCodec extends BaseCodec {
+
+    private final SmileRedisSerializer serializer;
+    private final Codec legacyCodec;
+
+    private final Encoder encoder = new Encoder() {
+        @Override
+        public ByteBuf encode(Object in) throws IOException {
+            if (!serializer.writesSmile())
+                return legacyCodec.getValueEncoder().encode(in);
+            byte[] bytes = serializer.serialize(in);
+            ByteBuf out = ByteBufAllocator.DEFAULT.buffer(bytes.length);
+            out.writeBytes(bytes);
+            return out;
+        }
+    };
+
+    private final Decoder<Object> decoder = (buf, state) -> {
+        if (buf.readableBytes() > 0 && buf.getByte(buf.readerIndex()) != SmileRedisSerializer.MAGIC)
+            return legacyCodec.getValueDecoder().decode(buf, state);
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        return serializer.deserialize(bytes);
+    };
+
+    public SmileRedissonCodec(SmileRedisSerializer serializer, Codec legacyCodec) {
+        this.serializer = serializer;
+        this.legacyCodec = legacyCodec;
+    }
+
+    /** Redisson tạo lại codec bằng reflection (constructor (ClassLoader, Codec)) khi cần, giữ nguyên instance. */
+    public SmileRedissonCodec(ClassLoader classLoader, SmileRedissonCodec codec) {
+        this(codec.serializer, codec.legacyCodec);
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return encoder;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return getClass().getClassLoader();
+    }
+}
@@ -0,0 +1,259 @@
+package com.base.demo.configs.session;
+
+import com.base.demo.constants.enums.user.UserStatus;
+import com.base.demo.services.oauth.AppOAuth2User;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializer nhị phân gọn cho session attributes trong Redis.
+ * - SecurityContext (OAuth2AuthenticationToken + AppOAuth2User): ghi từng field, không dùng JDK serialization
+ * - Long/Integer/String (creationTime, lastAccessedTime, maxInactiveInterval...): vài byte
+ * - Các object khác (CSRF token, OAuth2AuthorizationRequest lúc login...): fallback JDK serialization
+ * writeUTF giới hạn 65535 byte: String dài hơn ghi dạng độ dài int + UTF-8 (TAG_LONG_STRING),
+ * SecurityContext có field cố định quá dài thì đi đường JDK.
+ */
+public class CompactSessionRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte TAG_JDK = 0;
+    private static final byte TAG_SECURITY_CONTEXT = 1;
+    private static final byte TAG_STRING = 2;
+    private static final byte TAG_LONG = 3;
+    private static final byte TAG_INT = 4;
+    private static final byte TAG_BOOLEAN = 5;
+    private static final byte TAG_DOUBLE = 6;
+    private static final byte TAG_INSTANT = 7;
+    private static final byte TAG_LONG_STRING = 8;
+
+    private static final int MAX_UTF_LENGTH = 65_535;
+
+    private final JdkSerializationRedisSerializer jdkSerializer = new JdkSerializationRedisSerializer();
+    private final DistributionSummary securityContextSize;
+    private final DistributionSummary scalarSize;
+    private final DistributionSummary jdkSize;
+
+    public CompactSessionRedisSerializer(MeterRegistry meterRegistry) {
+        this.securityContextSize = sizeSummary(meterRegistry, "security_context");
+        this.scalarSize = sizeSummary(meterRegistry, "scalar");
+        this.jdkSize = sizeSummary(meterRegistry, "jdk");
+    }
+
+    private static DistributionSummary sizeSummary(MeterRegistry meterRegistry, String type) {
+        return DistributionSummary.builder("session.redis.attribute.size")
+                .baseUnit("bytes")
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // ==================== SERIALIZE ====================
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null)
+            return null;
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            DistributionSummary summary = scalarSize;
+
+            if (isCompactSecurityContext(value)) {
+                out.writeByte(TAG_SECURITY_CONTEXT);
+                writeSecurityContext(out, (SecurityContext) value);
+                summary = securityContextSize;
+            } else if (!writeScalar(out, value)) {
+                out.writeByte(TAG_JDK);
+                out.write(jdkSerializer.serialize(value));
+                summary = jdkSize;
+            }
+
+            out.flush();
+            byte[] result = bytes.toByteArray();
+            summary.record(result.length);
+            return result;
+        } catch (IOException e) {
+            throw new SerializationException("Cannot serialize session attribute", e);
+        }
+    }
+
+    private boolean isCompactSecurityContext(Object value) {
+        return value instanceof SecurityContext context
+                && context.getAuthentication() instanceof OAuth2AuthenticationToken token
+                && token.getPrincipal() instanceof AppOAuth2User user
+                && fitsUtf(token.getAuthorizedClientRegistrationId())
+                && fitsUtf(user.getNameAttributeKey())
+                && token.getAuthorities().stream().allMatch(authority -> fitsUtf(authority.getAuthority()))
+                && user.getAttributes().keySet().stream().allMatch(CompactSessionRedisSerializer::fitsUtf);
+    }
+
+    /** Độ dài modified UTF-8 (như writeUTF) không vượt 65535 byte. */
+    static boolean fitsUtf(String value) {
+        if (value == null)
+            return false;
+        if (value.length() <= MAX_UTF_LENGTH / 3)
+            return true;
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            length += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3;
+        }
+        return length <= MAX_UTF_LENGTH;
+    }
+
+    private void writeSecurityContext(DataOutputStream out, SecurityContext context) throws IOException {
+        OAuth2AuthenticationToken token = (OAuth2AuthenticationToken) context.getAuthentication();
+        AppOAuth2User user = (AppOAuth2User) token.getPrincipal();
+
+        out.writeUTF(token.getAuthorizedClientRegistrationId());
+        out.writeShort(token.getAuthorities().size());
+        for (GrantedAuthority authority : token.getAuthorities()) {
+            out.writeUTF(authority.getAuthority());
+        }
+
+        writeNullableLong(out, user.getUserId());
+        writeNullableLong(out, user.getWalletId());
+        out.writeInt(user.getStatus() != null ? user.getStatus().getValue() : -1);
+        out.writeUTF(user.getNameAttributeKey());
+
+        out.writeShort(user.getAttributes().size());
+        for (Map.Entry<String, Object> attribute : user.getAttributes().entrySet()) {
+            out.writeUTF(attribute.getKey());
+            if (!writeScalar(out, attribute.getValue())) {
+                byte[] serialized = jdkSerializer.serialize(attribute.getValue());
+                out.writeByte(TAG_JDK);
+                out.writeInt(serialized.length);
+                out.write(serialized);
+            }
+        }
+    }
+
+    private boolean writeScalar(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof String s && fitsUtf(s)) {
+            out.writeByte(TAG_STRING);
+            out.writeUTF(s);
+        } else if (value instanceof String s) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            out.writeByte(TAG_LONG_STRING);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        } else if (value instanceof Long l) {
+            out.writeByte(TAG_LONG);
+            out.writeLong(l);
+        } else if (value instanceof Integer i) {
+            out.writeByte(TAG_INT);
+            out.writeInt(i);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean(b);
+        } else if (value instanceof Double d) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble(d);
+        } else if (value instanceof Instant instant) {
+            out.writeByte(TAG_INSTANT);
+            out.writeLong(instant.getEpochSecond());
+            out.writeInt(instant.getNano());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private void writeNullableLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null)
+            out.writeLong(value);
+    }
+
+    // ==================== DESERIALIZE ====================
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0)
+            return null;
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            byte tag = in.readByte();
+            return switch (tag) {
+                case TAG_SECURITY_CONTEXT -> readSecurityContext(in);
+                case TAG_JDK -> jdkSerializer.deserialize(in.readAllBytes());
+                default -> readScalar(in, tag);
+            };
+        } catch (IOException e) {
+            throw new SerializationException("Cannot deserialize session attribute", e);
+        }
+    }
+
+    private SecurityContext readSecurityContext(DataInputStream in) throws IOException {
+        String registrationId = in.readUTF();
+        int authorityCount = in.readShort();
+        List<GrantedAuthority> authorities = new ArrayList<>(authorityCount);
+        for (int i = 0; i < authorityCount; i++) {
+            authorities.add(new SimpleGrantedAuthority(in.readUTF()));
+        }
+
+        Long userId = readNullableLong(in);
+        Long walletId = readNullableLong(in);
+        UserStatus status = UserStatus.fromValue(in.readInt());
+        String nameAttributeKey = in.readUTF();
+
+        int attributeCount = in.readShort();
+        Map<String, Object> attributes = new LinkedHashMap<>(attributeCount * 2);
+        for (int i = 0; i < attributeCount; i++) {
+            String key = in.readUTF();
+            byte tag = in.readByte();
+            if (tag == TAG_JDK) {
+                byte[] serialized = new byte[in.readInt()];
+                in.readFully(serialized);
+                attributes.put(key, jdkSerializer.deserialize(serialized));
+            } else {
+                attributes.put(key, readScalar(in, tag));
+            }
+        }
+
+        AppOAuth2User user = new AppOAuth2User(authorities, attributes, nameAttributeKey, userId, walletId, status);
+        return new SecurityContextImpl(new OAuth2AuthenticationToken(user, authorities, registrationId));
+    }
+
+    private Object readScalar(DataInputStream in, byte tag) throws IOException {
+        return switch (tag) {
+            case TAG_STRING -> in.readUTF();
+            case TAG_LONG_STRING -> {
+                byte[] utf8 = new byte[in.readInt()];
+                in.readFully(utf8);
+                yield new String(utf8, StandardCharsets.UTF_8);
+            }
+            case TAG_LONG -> in.readLong();
+            case TAG_INT -> in.readInt();
+            case TAG_BOOLEAN -> in.readBoolean();
+            case TAG_DOUBLE -> in.readDouble();
+            case TAG_INSTANT -> Instant.ofEpochSecond(in.readLong(), in.readInt());
+            default -> throw new SerializationException("Unknown session attribute tag: " + tag);
+        };
+    }
+
+    private Long readNullableLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.base.demo.configs.session;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Spring Session (Redis) - session dùng chung giữa các replica, không cần sticky routing.
+ * Repository/namespace/flush-mode cấu hình trong application.properties.
+ */
+@Configuration
+public class SessionConfig {
+
+    /**
+     * Tên bean cố định để Spring Session dùng thay cho JDK serialization mặc định.
+     */
+    @Bean("springSessionDefaultRedisSerializer")
+    public RedisSerializer<Object> springSessionDefaultRedisSerializer(MeterRegistry meterRegistry) {
+        return new CompactSessionRedisSerializer(meterRegistry);
+    }
+}
@@ -0,0 +1,11 @@
+package com.base.demo.constants;
+
+public class CacheNames {
+    public static final String ROLES = "roles";
+    public static final String USER_IDENTITIES = "user-identities";
+    public static final String WALLET_STATUS = "wallet-status";
+    public static final String WALLET_IDS = "wallet-ids";
+    public static final String WALLET_VERSIONS = "wallet-versions";
+    public static final String USER_PERMISSIONS = "user-permissions";
+    public static final String ROLE_COUNTS = "role-counts";
+}
@@ -0,0 +1,77 @@
+package com.base.demo.constants.enums.role;
+
+import com.base.demo.constants.enums.PersistableEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Quyền trong hệ thống. value = vị trí bit trong roles.permissions (BIGINT, tối đa 64 quyền).
+ * Không đổi value của quyền đã có, chỉ thêm bit mới.
+ */
+@AllArgsConstructor
+@Getter
+public enum Permission implements PersistableEnum<Integer> {
+    USER_READ(0, "Xem danh sách người dùng"),
+    USER_MANAGE(1, "Quản lý người dùng (import, gán role)"),
+    ROLE_MANAGE(2, "Quản lý role"),
+    WALLET_REVIEW(3, "Duyệt yêu cầu nạp tiền");
+
+    private final Integer value;
+    private final String name;
+
+    public long mask() {
+        return 1L << value;
+    }
+
+    public boolean isGrantedIn(long permissions) {
+        return (permissions & mask()) != 0;
+    }
+
+    public static long toMask(Collection<Permission> permissions) {
+        long mask = 0L;
+        if (permissions != null) {
+            for (Permission permission : permissions) {
+                mask |= permission.mask();
+            }
+        }
+        return mask;
+    }
+
+    public static List<Permission> fromMask(long mask) {
+        List<Permission> permissions = new ArrayList<>();
+        for (Permission permission : values()) {
+            if (permission.isGrantedIn(mask)) {
+                permissions.add(permission);
+            }
+        }
+        return permissions;
+    }
+
+    public static Permission fromValue(Integer value) {
+        if (value == null) {
+            return null;
+        }
+        for (Permission permission : values()) {
+            if (permission.getValue().equals(value)) {
+                return permission;
+            }
+        }
+        return null;
+    }
+
+    public static Permission fromName(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        for (Permission permission : values()) {
+            if (permission.getName().equalsIgnoreCase(name)) {
+                return permission;
+            }
+        }
+        return null;
+    }
+}
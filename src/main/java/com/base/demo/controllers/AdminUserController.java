@@ -0,0 +1,43 @@
+package com.base.demo.controllers;
+
+import com.base.demo.dtos.common.ApiResponse;
+import com.base.demo.dtos.user.AssignRolesRequest;
+import com.base.demo.dtos.user.ImportUsersResponse;
+import com.base.demo.services.admin_user.AdminUserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/admin/users")
+public class AdminUserController {
+
+    private final AdminUserService adminUserService;
+
+    /**
+     * Import user từ CSV: name,provider,provider_user_id,email (dòng header tuỳ chọn).
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<ImportUsersResponse>> importUsers(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(ApiResponse.success(adminUserService.importUsers(file)));
+    }
+
+    @PutMapping("/{id}/roles")
+    public ResponseEntity<ApiResponse<Void>> assignRoles(@PathVariable Long id,
+            @RequestBody @Valid AssignRolesRequest request) {
+        adminUserService.assignRoles(id, request);
+        return ResponseEntity.ok(ApiResponse.success(null));
+    }
+}
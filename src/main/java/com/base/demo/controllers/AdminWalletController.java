@@ -2,7 +2,11 @@ package com.base.demo.controllers;
 
 import com.base.demo.dtos.common.ApiResponse;
 import com.base.demo.dtos.deposit_request.ReviewDepositResponse;
+import com.base.demo.dtos.wallet.BatchWalletRequest;
+import com.base.demo.dtos.wallet.BatchWalletResponse;
 import com.base.demo.services.admin_wallet.AdminWalletService;
+import com.base.demo.services.wallet.WalletService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +14,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -21,6 +26,17 @@ public class AdminWalletController {
 
     private final AdminWalletService adminWalletService;
 
+    private final WalletService walletService;
+
+    /**
+     * Số dư/trạng thái ví của tối đa 5000 user trong 1 call (thay cho N lần GET /api/v1/wallets).
+     * Dữ liệu là snapshot (cache tối đa 30 giây, evict ngay khi ví thay đổi).
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchWalletResponse>> getWallets(@RequestBody @Valid BatchWalletRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(walletService.getWallets(request.getUserIds())));
+    }
+
     @PostMapping("/deposit-requests/{id}/approve")
     public ResponseEntity<ApiResponse<ReviewDepositResponse>> approveDepositRequest(@AuthenticationPrincipal OAuth2User principal, @PathVariable Long id) {
         return ResponseEntity.ok(ApiResponse.success(adminWalletService.approveDepositRequest(principal, id)));
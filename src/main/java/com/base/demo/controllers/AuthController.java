@@ -1,5 +1,10 @@
 package com.base.demo.controllers;
 
+import com.base.demo.dtos.auth.AccessTokenResponse;
+import com.base.demo.exceptions.UnauthorizedException;
+import com.base.demo.services.auth.AccessTokenService;
+import com.base.demo.services.oauth.AppOAuth2User;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,9 +14,12 @@ import org.springframework.web.bind.annotation.RestController;
 import java.util.Map;
 
 @RestController
+@RequiredArgsConstructor
 @RequestMapping("/login")
 public class AuthController {
 
+    private final AccessTokenService accessTokenService;
+
     @GetMapping("/success")
     public Map<String, Object> loginSuccess(@AuthenticationPrincipal OAuth2User user) {
         return Map.of(
@@ -20,7 +28,14 @@ public class AuthController {
                 "user", Map.of(
                         "name", user.getAttribute("name"),
                         "email", user.getAttribute("email"),
-                        "picture", user.getAttribute("picture")));
+                        "picture", user.getAttribute("picture")),
+                "token", issueAccessToken(user));
+    }
+
+    /** Cấp lại access token cho session đang đăng nhập (token hết hạn sau jwt.access-token-ttl). */
+    @GetMapping("/token")
+    public AccessTokenResponse token(@AuthenticationPrincipal OAuth2User user) {
+        return issueAccessToken(user);
     }
 
     @GetMapping("/failure")
@@ -29,4 +44,12 @@ public class AuthController {
                 "success", false,
                 "message", "Login failed");
     }
+
+    private AccessTokenResponse issueAccessToken(OAuth2User user) {
+        if (!(user instanceof AppOAuth2User appUser) || appUser.getUserId() == null) {
+            throw new UnauthorizedException("Phiên đăng nhập không hợp lệ, vui lòng đăng nhập lại");
+        }
+
+        return accessTokenService.issueAccessToken(appUser);
+    }
 }
@@ -1,6 +1,7 @@
 package com.base.demo.controllers;
 
 import com.base.demo.dtos.common.ApiResponse;
+import com.base.demo.dtos.common.SliceResponse;
 import com.base.demo.dtos.role.CreateRoleRequest;
 import com.base.demo.dtos.role.GetRoleResponse;
 import com.base.demo.dtos.role.UpdateRoleRequest;
@@ -12,7 +13,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 @Slf4j
 @RestController
@@ -23,12 +23,13 @@ public class RoleController {
     private final RoleService roleService;
 
     @GetMapping("")
-    public ResponseEntity<ApiResponse<List<GetRoleResponse>>> getRoles(
+    public ResponseEntity<ApiResponse<SliceResponse<GetRoleResponse>>> getRoles(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String description,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(ApiResponse.success(roleService.getRoles(name, description, page, size)));
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(name = "with_total", defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(ApiResponse.success(roleService.getRoles(name, description, page, size, withTotal)));
     }
 
     @PostMapping("")
@@ -1,22 +1,38 @@
 package com.base.demo.controllers;
 
+import com.base.demo.constants.enums.user.UserStatus;
 import com.base.demo.dtos.common.ApiResponse;
-import com.base.demo.dtos.user.CreateUserRequest;
+import com.base.demo.dtos.common.CursorPageResponse;
+import com.base.demo.dtos.common.SliceResponse;
 import com.base.demo.dtos.user.GetUserResponse;
-import com.base.demo.dtos.user.UpdateUserRequest;
 import com.base.demo.services.user.UserService;
-import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/users")
 public class UserController {
 
+    private final UserService userService;
+
+    @GetMapping("")
+    public ResponseEntity<ApiResponse<CursorPageResponse<GetUserResponse>>> getUsers(
+            @RequestParam(name = "after_id", required = false) Long afterId,
+            @RequestParam(required = false) UserStatus status,
+            @RequestParam(required = false) String email,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.success(userService.getUsers(afterId, status, email, size)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<SliceResponse<GetUserResponse>>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.success(userService.searchUsers(q, page, size)));
+    }
 }
@@ -1,18 +1,26 @@
 package com.base.demo.controllers;
 
+import com.base.demo.configs.ratelimit.RateLimited;
 import com.base.demo.dtos.common.ApiResponse;
 import com.base.demo.dtos.deposit_request.CreateDepositRequest;
 import com.base.demo.dtos.deposit_request.CreateDepositResponse;
 import com.base.demo.dtos.wallet.GetWalletResponse;
 import com.base.demo.services.deposit_request.DepositRequestService;
 import com.base.demo.services.wallet.WalletService;
+import com.base.demo.services.wallet.WalletStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Slf4j
 @RestController
@@ -22,13 +30,41 @@ public class WalletController {
 
     private final WalletService walletService;
     private final DepositRequestService depositRequestService;
+    private final WalletStreamService walletStreamService;
 
     @GetMapping("")
-    public ResponseEntity<ApiResponse<GetWalletResponse>> getWallets(@AuthenticationPrincipal OAuth2User principal) {
-        return ResponseEntity.ok(ApiResponse.success(walletService.getWallet(principal)));
+    public ResponseEntity<ApiResponse<GetWalletResponse>> getWallets(@AuthenticationPrincipal OAuth2User principal,
+            WebRequest request) {
+        // Conditional GET: chỉ tra version (cache), khớp If-None-Match -> 304 không load ví
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String currentETag = walletService.getWalletETag(principal);
+            if (currentETag != null && request.checkNotModified(currentETag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(currentETag)
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .build();
+            }
+        }
+
+        GetWalletResponse wallet = walletService.getWallet(principal);
+        return ResponseEntity.ok()
+                .eTag(walletService.toETag(wallet.getUserId(), wallet.getVersion()))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.success(wallet));
+    }
+
+    /**
+     * SSE: event "balance" (GetWalletResponse) và "transaction" (WalletTransactionResponse) khi ví thay đổi.
+     * Thay cho việc poll GET /api/v1/wallets.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamWallet(@AuthenticationPrincipal OAuth2User principal) {
+        GetWalletResponse wallet = walletService.getWallet(principal);
+        return walletStreamService.connect(wallet.getUserId(), wallet);
     }
 
     @PostMapping("/deposit-requests")
+    @RateLimited("deposit")
     public ResponseEntity<ApiResponse<CreateDepositResponse>> depositRequest(@AuthenticationPrincipal OAuth2User principal, @RequestBody @Valid CreateDepositRequest request) {
         return ResponseEntity.ok(ApiResponse.success(depositRequestService.createDepositRequest(principal, request)));
     }
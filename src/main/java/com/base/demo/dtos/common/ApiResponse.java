@@ -1,5 +1,6 @@
 package com.base.demo.dtos.common;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,13 +8,11 @@ import lombok.NoArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonSerialize(using = ApiResponseSerializer.class)
 public class ApiResponse<T> {
     private String timestamp;
     private int status;
@@ -21,28 +20,14 @@ public class ApiResponse<T> {
     private T data;
 
     public static <T> ApiResponse<T> success(T data) {
-        return ApiResponse.<T>builder()
-                .timestamp(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                .status(HttpStatus.OK.value())
-                .message("Success")
-                .data(data)
-                .build();
+        return new ApiResponse<>(CachedTimestamp.api(), HttpStatus.OK.value(), "Success", data);
     }
 
     public static  <T> ApiResponse<T> success(T data, String message) {
-        return ApiResponse.<T>builder()
-                .timestamp(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                .status(HttpStatus.OK.value())
-                .message(message)
-                .data(data)
-                .build();
+        return new ApiResponse<>(CachedTimestamp.api(), HttpStatus.OK.value(), message, data);
     }
 
     public static <T> ApiResponse<T> error(HttpStatus status, String message) {
-        return ApiResponse.<T>builder()
-                .timestamp(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                .status(status.value())
-                .message(message)
-                .build();
+        return new ApiResponse<>(CachedTimestamp.api(), status.value(), message, null);
     }
 }
@@ -0,0 +1,29 @@
+package com.base.demo.dtos.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Ghi envelope ApiResponse thẳng ra JsonGenerator (không introspect bean).
+ * data được stream bằng serializer đã cache của Jackson theo kiểu runtime.
+ */
+public class ApiResponseSerializer extends StdSerializer<ApiResponse<?>> {
+
+    @SuppressWarnings("unchecked")
+    public ApiResponseSerializer() {
+        super((Class<ApiResponse<?>>) (Class<?>) ApiResponse.class);
+    }
+
+    @Override
+    public void serialize(ApiResponse<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeStringField("timestamp", value.getTimestamp());
+        gen.writeNumberField("status", value.getStatus());
+        gen.writeStringField("message", value.getMessage());
+        provider.defaultSerializeField("data", value.getData(), gen);
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,54 @@
+package com.base.demo.dtos.common;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Timestamp dạng chuỗi cho response envelope, chỉ format lại 1 lần mỗi giây.
+ * Các request trong cùng 1 giây dùng chung 1 String (không format, không allocate).
+ */
+public final class CachedTimestamp {
+
+    public static final DateTimeFormatter API_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    public static final DateTimeFormatter ERROR_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+
+    private record Snapshot(long epochSecond, LocalDateTime time, String api, String error) {
+    }
+
+    private static volatile Snapshot current = snapshot(System.currentTimeMillis() / 1000);
+
+    private CachedTimestamp() {
+    }
+
+    /** yyyy-MM-dd HH:mm:ss (ApiResponse). */
+    public static String api() {
+        return now().api();
+    }
+
+    /** Format dd-MM-yyyy HH:mm:ss (ErrorResponse), dùng lại chuỗi cache nếu cùng giây hiện tại. */
+    public static String error(LocalDateTime time) {
+        Snapshot snapshot = now();
+        if (time.withNano(0).equals(snapshot.time()))
+            return snapshot.error();
+        return ERROR_FORMATTER.format(time);
+    }
+
+    private static Snapshot now() {
+        long epochSecond = System.currentTimeMillis() / 1000;
+        Snapshot snapshot = current;
+        if (snapshot.epochSecond() != epochSecond) {
+            // Nhiều thread cùng format lại trong lúc sang giây mới cũng không sao (kết quả như nhau)
+            snapshot = snapshot(epochSecond);
+            current = snapshot;
+        }
+        return snapshot;
+    }
+
+    private static Snapshot snapshot(long epochSecond) {
+        LocalDateTime time = LocalDateTime.ofEpochSecond(epochSecond, 0,
+                ZoneId.systemDefault().getRules().getOffset(Instant.ofEpochSecond(epochSecond)));
+        return new Snapshot(epochSecond, time, API_FORMATTER.format(time), ERROR_FORMATTER.format(time));
+    }
+}
@@ -0,0 +1,39 @@
+package com.base.demo.dtos.common;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Trang kết quả phân trang keyset: client gửi lại next_cursor để lấy trang kế tiếp.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class CursorPageResponse<T> {
+
+    private List<T> items;
+    private Long nextCursor;
+    private boolean hasNext;
+
+    /**
+     * @param rows kết quả query với limit = size + 1 (phần tử thừa chỉ để biết còn trang sau)
+     */
+    public static <T> CursorPageResponse<T> of(List<T> rows, int size, Function<T, Long> cursorExtractor) {
+        boolean hasNext = rows.size() > size;
+        List<T> items = hasNext ? rows.subList(0, size) : rows;
+        return CursorPageResponse.<T>builder()
+                .items(items)
+                .nextCursor(hasNext ? cursorExtractor.apply(items.get(items.size() - 1)) : null)
+                .hasNext(hasNext)
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.base.demo.dtos.common;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Trang kết quả dạng Slice: chỉ biết còn trang sau hay không (query lấy dư 1 bản ghi), không COUNT.
+ * total_elements chỉ có khi client yêu cầu, là giá trị xấp xỉ (cache theo TTL).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class SliceResponse<T> {
+
+    private List<T> items;
+    private int page;
+    private int size;
+    private boolean hasNext;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+
+    public static <S, T> SliceResponse<T> of(Slice<S> slice, Function<S, T> mapper) {
+        return SliceResponse.<T>builder()
+                .items(slice.getContent().stream().map(mapper).collect(Collectors.toList()))
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.base.demo.dtos.role;
 
+import com.base.demo.constants.enums.role.Permission;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import jakarta.validation.constraints.NotBlank;
@@ -9,6 +10,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -21,4 +24,6 @@ public class CreateRoleRequest {
     private String name;
 
     private String description;
+
+    private List<Permission> permissions;
 }
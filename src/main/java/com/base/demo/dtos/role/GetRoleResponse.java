@@ -1,5 +1,6 @@
 package com.base.demo.dtos.role;
 
+import com.base.demo.constants.enums.role.Permission;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.AllArgsConstructor;
@@ -7,6 +8,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -16,4 +19,5 @@ public class GetRoleResponse {
     private Long id;
     private String name;
     private String description;
+    private List<Permission> permissions;
 }
@@ -0,0 +1,8 @@
+package com.base.demo.dtos.role;
+
+/**
+ * Application event khi quyền thay đổi, evict cache sau khi transaction commit.
+ * userId: user được gán lại role, null nếu role thay đổi (ảnh hưởng mọi user).
+ */
+public record PermissionsChangedEvent(Long userId) {
+}
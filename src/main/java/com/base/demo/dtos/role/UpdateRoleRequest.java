@@ -1,5 +1,6 @@
 package com.base.demo.dtos.role;
 
+import com.base.demo.constants.enums.role.Permission;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import jakarta.validation.constraints.Size;
@@ -8,6 +9,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,4 +22,7 @@ public class UpdateRoleRequest {
     private String name;
 
     private String description;
+
+    /** null = giữ nguyên quyền hiện tại. */
+    private List<Permission> permissions;
 }
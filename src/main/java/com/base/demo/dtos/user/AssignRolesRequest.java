@@ -0,0 +1,23 @@
+package com.base.demo.dtos.user;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class AssignRolesRequest {
+
+    /** Danh sách role thay thế toàn bộ role hiện tại, rỗng = gỡ hết role. */
+    @NotNull
+    private List<Long> roleIds;
+}
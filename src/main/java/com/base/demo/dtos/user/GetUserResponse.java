@@ -1,5 +1,6 @@
 package com.base.demo.dtos.user;
 
+import com.base.demo.constants.enums.user.UserStatus;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.AllArgsConstructor;
@@ -7,6 +8,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/** Dùng làm JPQL constructor projection (thứ tự field = thứ tự tham số constructor). */
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,6 +17,6 @@ import lombok.NoArgsConstructor;
 public class GetUserResponse {
     private Long id;
     private String fullName;
-    private String username;
     private String email;
+    private UserStatus status;
 }
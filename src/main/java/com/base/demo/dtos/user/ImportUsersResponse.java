@@ -0,0 +1,22 @@
+package com.base.demo.dtos.user;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class ImportUsersResponse {
+
+    private long totalRows;
+    private long imported;
+    private long skippedExisting;
+    private long invalid;
+    private long durationMs;
+}
@@ -0,0 +1,25 @@
+package com.base.demo.dtos.user;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event gửi lên KafkaTopics.USER_EVENTS khi user đăng ký lần đầu.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class UserCreatedEvent {
+    public static final String EVENT_TYPE = "USER_CREATED";
+
+    @Builder.Default
+    private String eventType = EVENT_TYPE;
+    private Long userId;
+    private String email;
+}
@@ -0,0 +1,22 @@
+package com.base.demo.dtos.wallet;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class BatchWalletResponse {
+    private List<GetWalletResponse> wallets;
+
+    /** User chưa có ví (hoặc không tồn tại). */
+    private List<Long> missingUserIds;
+}
@@ -1,6 +1,7 @@
 package com.base.demo.dtos.wallet;
 
 import com.base.demo.constants.enums.wallet.WalletStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.AllArgsConstructor;
@@ -21,4 +22,8 @@ public class GetWalletResponse {
     private BigDecimal availableBalance;
     private BigDecimal pendingBalance;
     private WalletStatus status;
+
+    /** Chỉ dùng để tạo ETag, không trả về client. */
+    @JsonIgnore
+    private Integer version;
 }
@@ -0,0 +1,8 @@
+package com.base.demo.dtos.wallet;
+
+/**
+ * Application event khi ví thay đổi (số dư, trạng thái...), xử lý sau khi transaction commit.
+ * transactionId: giao dịch gây ra thay đổi, null nếu không có (đổi trạng thái...).
+ */
+public record WalletChangedEvent(Long userId, Long walletId, Long transactionId) {
+}
@@ -0,0 +1,28 @@
+package com.base.demo.dtos.wallet;
+
+import com.base.demo.constants.enums.wallet_transaction.WalletTransactionDirection;
+import com.base.demo.constants.enums.wallet_transaction.WalletTransactionType;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class WalletTransactionResponse {
+    private Long id;
+    private WalletTransactionType transactionType;
+    private WalletTransactionDirection direction;
+    private BigDecimal amount;
+    private BigDecimal balanceAfter;
+    private Long referenceId;
+    private LocalDateTime createdAt;
+}
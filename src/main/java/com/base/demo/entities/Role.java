@@ -24,6 +24,10 @@ public class Role {
     @Column(name = "description")
     private String description;
 
+    /** Bitset quyền, xem Permission. */
+    @Column(name = "permissions", nullable = false)
+    private Long permissions = 0L;
+
     @Column(name = "created_at")
     @CreatedDate
     private LocalDateTime createdAt;
@@ -3,13 +3,18 @@ package com.base.demo.exceptions;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
+/**
+ * Exception nghiệp vụ. Không có cause -> stackless (không fillInStackTrace, không suppressed):
+ * đây là kết quả dự kiến (conflict, bad request...), stack trace không có giá trị mà tốn CPU khi bị retry dồn dập.
+ * Có cause -> giữ stack trace để debug lỗi hạ tầng.
+ */
 @Getter
 public class BaseException extends RuntimeException {
     private final HttpStatus status;
     private final String errorCode;
 
     public BaseException(String message, HttpStatus status, String errorCode) {
-        super(message);
+        super(message, null, false, false);
         this.status = status;
         this.errorCode = errorCode;
     }
@@ -19,4 +24,4 @@ public class BaseException extends RuntimeException {
         this.status = status;
         this.errorCode = errorCode;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.base.demo.exceptions;
+
+import com.base.demo.dtos.common.CachedTimestamp;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Ghi ErrorResponse thẳng ra JsonGenerator, bỏ qua field null (tương đương @JsonInclude NON_NULL).
+ */
+public class ErrorResponseSerializer extends StdSerializer<ErrorResponse> {
+
+    public ErrorResponseSerializer() {
+        super(ErrorResponse.class);
+    }
+
+    @Override
+    public void serialize(ErrorResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        if (value.getTimestamp() != null)
+            gen.writeStringField("timestamp", CachedTimestamp.error(value.getTimestamp()));
+        gen.writeNumberField("status", value.getStatus());
+        writeIfNotNull(gen, "error", value.getError());
+        writeIfNotNull(gen, "errorCode", value.getErrorCode());
+        writeIfNotNull(gen, "message", value.getMessage());
+        writeIfNotNull(gen, "path", value.getPath());
+        if (value.getValidationErrors() != null)
+            provider.defaultSerializeField("validationErrors", value.getValidationErrors(), gen);
+        if (value.getDetails() != null)
+            provider.defaultSerializeField("details", value.getDetails(), gen);
+        writeIfNotNull(gen, "traceId", value.getTraceId());
+        gen.writeEndObject();
+    }
+
+    private void writeIfNotNull(JsonGenerator gen, String field, String value) throws IOException {
+        if (value != null)
+            gen.writeStringField(field, value);
+    }
+}
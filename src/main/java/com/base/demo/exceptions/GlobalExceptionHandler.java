@@ -1,8 +1,12 @@
 package com.base.demo.exceptions;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,9 +24,11 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -33,12 +39,36 @@ import java.util.stream.Collectors;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+    private final long logSampleIntervalNanos;
+
     /**
-     * Xử lý BaseException và các custom exceptions kế thừa từ nó
+     * errorCode|class|message -> [thời điểm log gần nhất (nanoTime), số lần bỏ qua từ lần log đó].
+     * Giới hạn size vì message có thể chứa id.
+     */
+    private final Cache<String, AtomicLong[]> logSamples;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry,
+            @Value("${exceptions.log-sample-interval:10s}") Duration logSampleInterval) {
+        this.meterRegistry = meterRegistry;
+        this.logSampleIntervalNanos = logSampleInterval.toNanos();
+        this.logSamples = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterAccess(logSampleInterval.multipliedBy(2))
+                .build();
+    }
+
+    /**
+     * Xử lý BaseException và các custom exceptions kế thừa từ nó.
+     * Mỗi lần xảy ra chỉ tăng counter app.exceptions{error_code, status};
+     * log được lấy mẫu tối đa 1 dòng / (errorCode, class, message) / interval.
+     * Exception có cause (lỗi thật) luôn được log kèm stack trace, không lấy mẫu.
      */
     @ExceptionHandler(BaseException.class)
     public ResponseEntity<ErrorResponse> handleBaseException(BaseException ex, HttpServletRequest request) {
-        log.error("BaseException: {}", ex.getMessage(), ex);
+        meterRegistry.counter("app.exceptions", "error_code", ex.getErrorCode(),
+                "status", String.valueOf(ex.getStatus().value())).increment();
+        logSampled(ex, request);
 
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .timestamp(java.time.LocalDateTime.now())
@@ -52,6 +82,33 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, ex.getStatus());
     }
 
+    private void logSampled(BaseException ex, HttpServletRequest request) {
+        if (ex.getCause() != null) {
+            log.error("BaseException [{}]: {} (path={})", ex.getErrorCode(), ex.getMessage(), request.getRequestURI(),
+                    ex);
+            return;
+        }
+
+        String sampleKey = ex.getErrorCode() + "|" + ex.getClass().getName() + "|" + ex.getMessage();
+        AtomicLong[] sample = logSamples.get(sampleKey,
+                key -> new AtomicLong[] { new AtomicLong(System.nanoTime() - logSampleIntervalNanos), new AtomicLong() });
+        long now = System.nanoTime();
+        long last = sample[0].get();
+        if (now - last < logSampleIntervalNanos || !sample[0].compareAndSet(last, now)) {
+            sample[1].incrementAndGet();
+            return;
+        }
+
+        long suppressed = sample[1].getAndSet(0);
+        if (ex.getStatus().is5xxServerError()) {
+            log.error("BaseException [{}]: {} (path={}, bỏ qua {} lần tương tự)", ex.getErrorCode(), ex.getMessage(),
+                    request.getRequestURI(), suppressed);
+        } else {
+            log.warn("BaseException [{}]: {} (path={}, bỏ qua {} lần tương tự)", ex.getErrorCode(), ex.getMessage(),
+                    request.getRequestURI(), suppressed);
+        }
+    }
+
     /**
      * Xử lý validation errors từ @Valid annotation
      */
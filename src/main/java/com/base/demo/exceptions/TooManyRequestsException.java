@@ -0,0 +1,14 @@
+package com.base.demo.exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class TooManyRequestsException extends BaseException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS, "TOO_MANY_REQUESTS");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
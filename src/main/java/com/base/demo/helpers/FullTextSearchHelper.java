@@ -0,0 +1,47 @@
+package com.base.demo.helpers;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+/**
+ * Chuyển từ khoá người dùng nhập thành query MATCH ... AGAINST (... IN BOOLEAN MODE).
+ * Mọi toán tử boolean trong input bị loại bỏ, mỗi từ thành 1 phrase bắt buộc: +"từ1" +"từ2".
+ */
+@Component
+public class FullTextSearchHelper {
+
+    private static final Pattern BOOLEAN_OPERATORS = Pattern.compile("[+\\-<>()~*\"@]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /** Phải khớp ngram_token_size của MySQL server, từ ngắn hơn sẽ không match được. */
+    @Value("${search.ngram-token-size:2}")
+    private int ngramTokenSize;
+
+    /**
+     * @return query boolean mode, null nếu input rỗng hoặc không có từ nào đủ dài
+     *         (caller fallback sang LIKE hoặc từ chối từ khoá)
+     */
+    public String toBooleanQuery(String keyword) {
+        if (keyword == null || keyword.isBlank())
+            return null;
+
+        StringJoiner query = new StringJoiner(" ");
+        for (String word : WHITESPACE.split(BOOLEAN_OPERATORS.matcher(keyword).replaceAll(" ").trim())) {
+            if (word.length() >= ngramTokenSize)
+                query.add("+\"" + word + "\"");
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+
+    public int getNgramTokenSize() {
+        return ngramTokenSize;
+    }
+
+    /** Input có từ khoá (không rỗng) nhưng không dùng được FULLTEXT. */
+    public boolean needsFallback(String keyword) {
+        return keyword != null && !keyword.isBlank() && toBooleanQuery(keyword) == null;
+    }
+}
@@ -4,6 +4,7 @@ import com.base.demo.constants.enums.identity.UserProvider;
 import com.base.demo.entities.UserIdentity;
 import com.base.demo.exceptions.UnauthorizedException;
 import com.base.demo.repositories.UserIdentityRepository;
+import com.base.demo.services.oauth.AppOAuth2User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.oauth2.core.user.OAuth2User;
@@ -27,6 +28,24 @@ public class OAuth2UserHelper {
         return providerUserId;
     }
 
+    /** Lấy internal userId: ưu tiên từ principal (resolve lúc login), fallback query DB. */
+    public Long getUserId(OAuth2User principal) {
+        if (principal instanceof AppOAuth2User appUser && appUser.getUserId() != null) {
+            return appUser.getUserId();
+        }
+
+        return getUserIdentity(UserProvider.GOOGLE, getProviderUserId(principal)).getUserId();
+    }
+
+    /** Lấy walletId từ principal, null nếu principal không có (session cũ, ví chưa tạo...). */
+    public Long getWalletId(OAuth2User principal) {
+        if (principal instanceof AppOAuth2User appUser) {
+            return appUser.getWalletId();
+        }
+
+        return null;
+    }
+
     public UserIdentity getUserIdentity(UserProvider provider, String providerUserId) {
         return userIdentityRepository
                 .findByProviderAndProviderUserId(provider, providerUserId)
@@ -0,0 +1,43 @@
+package com.base.demo.kafka.consumers;
+
+import com.base.demo.configs.kafka.KafkaConfig;
+import com.base.demo.constants.KafkaTopics;
+import com.base.demo.dtos.user.UserCreatedEvent;
+import com.base.demo.services.wallet.WalletService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Xử lý user events: tạo ví cho user mới (idempotent, nhận trùng message không sao).
+ * Message không parse được thì bỏ qua; lỗi khác (DB...) ném lại để error handler của container retry.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserEventConsumer {
+
+    private final WalletService walletService;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = KafkaTopics.USER_EVENTS, containerFactory = KafkaConfig.JSON_CONTAINER_FACTORY,
+            autoStartup = "${kafka.auto.start}")
+    public void onUserEvent(String message) {
+        UserCreatedEvent event;
+        try {
+            event = objectMapper.readValue(message, UserCreatedEvent.class);
+        } catch (JsonProcessingException e) {
+            log.error("[Kafka-Consumer] User event không hợp lệ, bỏ qua: {}", message, e);
+            return;
+        }
+        if (!UserCreatedEvent.EVENT_TYPE.equals(event.getEventType()) || event.getUserId() == null) {
+            return;
+        }
+
+        Long walletId = walletService.provisionWallet(event.getUserId());
+        log.info("[Kafka-Consumer] Provisioned wallet {} cho user ID {}", walletId, event.getUserId());
+    }
+}
@@ -0,0 +1,25 @@
+package com.base.demo.kafka.producers;
+
+import com.base.demo.constants.KafkaTopics;
+import com.base.demo.dtos.user.UserCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Gửi user event lên Kafka sau khi transaction tạo user commit thành công.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserEventProducer {
+
+    private final KafkaProducerService kafkaProducerService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserCreated(UserCreatedEvent event) {
+        kafkaProducerService.send(KafkaTopics.USER_EVENTS, event.getUserId(), event);
+    }
+}
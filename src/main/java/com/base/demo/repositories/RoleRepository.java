@@ -1,12 +1,16 @@
 package com.base.demo.repositories;
 
+import com.base.demo.constants.CacheNames;
 import com.base.demo.entities.Role;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.util.Collection;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
@@ -16,7 +20,88 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
             where (:role is null or r.name like concat('%', :role, '%'))
             and (:description is null or r.description like concat('%', :description, '%'))
             """)
-    List<Role> findByFilters(String role, String description, Pageable pageable);
+    Slice<Role> findByFilters(String role, String description, Pageable pageable);
+
+    @Cacheable(value = CacheNames.ROLE_COUNTS, key = "'like:' + #p0 + ':' + #p1")
+    @Query("""
+            select count(r) from Role r
+            where (:role is null or r.name like concat('%', :role, '%'))
+            and (:description is null or r.description like concat('%', :description, '%'))
+            """)
+    long countByFilters(String role, String description);
+
+    /**
+     * Tìm kiếm qua FULLTEXT ngram index, sắp xếp theo độ liên quan.
+     * Tham số là query boolean mode (FullTextSearchHelper). Mỗi tổ hợp tham số 1 query riêng,
+     * chỉ MATCH cột có lọc: bọc (:x = '' OR MATCH ...) làm MySQL không dùng được FULLTEXT index.
+     */
+    @Query(value = """
+            SELECT r.* FROM roles r
+            WHERE MATCH(r.name) AGAINST (:role IN BOOLEAN MODE)
+            AND MATCH(r.description) AGAINST (:description IN BOOLEAN MODE)
+            ORDER BY (MATCH(r.name) AGAINST (:role IN BOOLEAN MODE)
+                + MATCH(r.description) AGAINST (:description IN BOOLEAN MODE)) DESC, r.id
+            """, nativeQuery = true)
+    Slice<Role> search(String role, String description, Pageable pageable);
+
+    @Query(value = """
+            SELECT r.* FROM roles r
+            WHERE MATCH(r.name) AGAINST (:role IN BOOLEAN MODE)
+            ORDER BY MATCH(r.name) AGAINST (:role IN BOOLEAN MODE) DESC, r.id
+            """, nativeQuery = true)
+    Slice<Role> searchByName(String role, Pageable pageable);
+
+    @Query(value = """
+            SELECT r.* FROM roles r
+            WHERE MATCH(r.description) AGAINST (:description IN BOOLEAN MODE)
+            ORDER BY MATCH(r.description) AGAINST (:description IN BOOLEAN MODE) DESC, r.id
+            """, nativeQuery = true)
+    Slice<Role> searchByDescription(String description, Pageable pageable);
+
+    @Cacheable(value = CacheNames.ROLE_COUNTS, key = "'ft:' + #p0 + ':' + #p1")
+    @Query(value = """
+            SELECT COUNT(*) FROM roles r
+            WHERE MATCH(r.name) AGAINST (:role IN BOOLEAN MODE)
+            AND MATCH(r.description) AGAINST (:description IN BOOLEAN MODE)
+            """, nativeQuery = true)
+    long countSearch(String role, String description);
+
+    @Cacheable(value = CacheNames.ROLE_COUNTS, key = "'ft:' + #p0 + ':null'")
+    @Query(value = "SELECT COUNT(*) FROM roles r WHERE MATCH(r.name) AGAINST (:role IN BOOLEAN MODE)",
+            nativeQuery = true)
+    long countSearchByName(String role);
+
+    @Cacheable(value = CacheNames.ROLE_COUNTS, key = "'ft:null:' + #p0")
+    @Query(value = "SELECT COUNT(*) FROM roles r WHERE MATCH(r.description) AGAINST (:description IN BOOLEAN MODE)",
+            nativeQuery = true)
+    long countSearchByDescription(String description);
 
     boolean existsByName(String name);
+
+    // ==================== USER ROLES ====================
+
+    /** OR toàn bộ permissions của các role được gán cho user (0 nếu chưa có role). */
+    @Cacheable(value = CacheNames.USER_PERMISSIONS, key = "#p0")
+    @Query(value = """
+            SELECT CAST(COALESCE(BIT_OR(r.permissions), 0) AS SIGNED)
+            FROM user_roles ur JOIN roles r ON r.id = ur.role_id
+            WHERE ur.user_id = :userId
+            """, nativeQuery = true)
+    Long findPermissionMaskByUserId(Long userId);
+
+    /** Gán role cho user, role id không tồn tại sẽ bị bỏ qua. */
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO user_roles (user_id, role_id)
+            SELECT :userId, r.id FROM roles r WHERE r.id IN (:roleIds)
+            """, nativeQuery = true)
+    int assignRoles(Long userId, Collection<Long> roleIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_roles WHERE user_id = :userId", nativeQuery = true)
+    void deleteUserRoles(Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_roles WHERE role_id = :roleId", nativeQuery = true)
+    void deleteRoleAssignments(Long roleId);
 }
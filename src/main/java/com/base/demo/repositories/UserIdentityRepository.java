@@ -1,16 +1,23 @@
 package com.base.demo.repositories;
 
+import com.base.demo.constants.CacheNames;
 import com.base.demo.constants.enums.identity.UserProvider;
 import com.base.demo.entities.UserIdentity;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserIdentityRepository extends JpaRepository<UserIdentity, Long> {
 
+    @Cacheable(value = CacheNames.USER_IDENTITIES, key = "#p0.value + ':' + #p1", unless = "#result == null")
     Optional<UserIdentity> findByProviderAndProviderUserId(UserProvider provider, String providerUserId);
 
     Optional<UserIdentity> findByUserId(Long userId);
+
+    List<UserIdentity> findByUserIdIn(Collection<Long> userIds);
 }
@@ -1,7 +1,11 @@
 package com.base.demo.repositories;
 
+import com.base.demo.constants.enums.user.UserStatus;
+import com.base.demo.dtos.user.GetUserResponse;
 import com.base.demo.entities.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -16,5 +20,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
             select u from User u
             where (:fullName is null or u.fullName like concat('%', :fullName, '%'))
             """)
-    List<User> findByFilters(String fullName, Pageable pageable);
+    Slice<User> findByFilters(String fullName, Pageable pageable);
+
+    /** Tìm theo họ tên qua FULLTEXT ngram index, sắp xếp theo độ liên quan. */
+    @Query(value = """
+            SELECT u.* FROM users u
+            WHERE MATCH(u.full_name) AGAINST (:fullName IN BOOLEAN MODE)
+            ORDER BY MATCH(u.full_name) AGAINST (:fullName IN BOOLEAN MODE) DESC, u.id
+            """, nativeQuery = true)
+    Slice<User> searchByFullName(String fullName, Pageable pageable);
+
+    /**
+     * Keyset pagination theo id (WHERE id > afterId ORDER BY id LIMIT n), join identity trong cùng 1 query.
+     */
+    @Query("""
+            select new com.base.demo.dtos.user.GetUserResponse(u.id, u.fullName, i.email, u.status)
+            from User u left join UserIdentity i on i.userId = u.id
+            where (:afterId is null or u.id > :afterId)
+            and (:status is null or u.status = :status)
+            and (:email is null or i.email = :email)
+            order by u.id
+            """)
+    List<GetUserResponse> findPageAfter(Long afterId, UserStatus status, String email, Limit limit);
+
+    @Query("SELECT u.status FROM User u WHERE u.id = :id")
+    UserStatus findStatusById(Long id);
 }
@@ -1,9 +1,18 @@
 package com.base.demo.repositories;
 
+import com.base.demo.constants.CacheNames;
 import com.base.demo.constants.enums.wallet.WalletStatus;
+import com.base.demo.dtos.wallet.GetWalletResponse;
 import com.base.demo.entities.Wallet;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface WalletRepository extends JpaRepository<Wallet, Long> {
@@ -12,4 +21,32 @@ public interface WalletRepository extends JpaRepository<Wallet, Long> {
     Wallet findByUserId(Long userId);
 
     boolean existsByUserIdAndStatus(Long userId, WalletStatus status);
+
+    @Cacheable(value = CacheNames.WALLET_IDS, key = "#p0", unless = "#result == null")
+    @Query("SELECT w.id FROM Wallet w WHERE w.userId = :userId")
+    Long findIdByUserId(Long userId);
+
+    /** Version (@Version) của ví, dùng làm ETag. Evict sau commit qua WalletChangedEvent. */
+    @Cacheable(value = CacheNames.WALLET_VERSIONS, key = "#p0", unless = "#result == null")
+    @Query("SELECT w.version FROM Wallet w WHERE w.userId = :userId")
+    Integer findVersionByUserId(Long userId);
+
+    /** Snapshot số dư/trạng thái của nhiều ví trong 1 query (dùng uq_wallet_user). */
+    @Query("SELECT new com.base.demo.dtos.wallet.GetWalletResponse(w.userId, w.balance, "
+            + "w.balance - w.pendingBalance, w.pendingBalance, w.status, w.version) "
+            + "FROM Wallet w WHERE w.userId IN :userIds")
+    List<GetWalletResponse> findSnapshotsByUserIdIn(Collection<Long> userIds);
+
+    @Cacheable(value = CacheNames.WALLET_STATUS, key = "#p0", unless = "#result == null")
+    @Query("SELECT w.status FROM Wallet w WHERE w.userId = :userId")
+    WalletStatus findStatusByUserId(Long userId);
+
+    /**
+     * Tạo ví mặc định (các cột lấy DEFAULT), bỏ qua nếu đã có nhờ uq_wallet_user.
+     * Trả về 1 nếu vừa tạo, 0 nếu ví đã tồn tại.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO wallets (user_id) VALUES (:userId)", nativeQuery = true)
+    int insertIgnoreByUserId(Long userId);
 }
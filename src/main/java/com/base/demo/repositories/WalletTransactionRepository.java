@@ -1,9 +1,15 @@
 package com.base.demo.repositories;
 
+import com.base.demo.dtos.wallet.WalletTransactionResponse;
 import com.base.demo.entities.WalletTransaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface WalletTransactionRepository extends JpaRepository<WalletTransaction, Long> {
+
+    @Query("SELECT new com.base.demo.dtos.wallet.WalletTransactionResponse(t.id, t.transactionType, t.direction, "
+            + "t.amount, t.balanceAfter, t.referenceId, t.createdAt) FROM WalletTransaction t WHERE t.id = :id")
+    WalletTransactionResponse findResponseById(Long id);
 }
@@ -0,0 +1,11 @@
+package com.base.demo.services.admin_user;
+
+import com.base.demo.dtos.user.AssignRolesRequest;
+import com.base.demo.dtos.user.ImportUsersResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface AdminUserService {
+    ImportUsersResponse importUsers(MultipartFile file);
+
+    void assignRoles(Long userId, AssignRolesRequest request);
+}
@@ -0,0 +1,346 @@
+package com.base.demo.services.admin_user;
+
+import com.base.demo.constants.enums.identity.UserEmailStatus;
+import com.base.demo.constants.enums.identity.UserProvider;
+import com.base.demo.constants.enums.user.UserStatus;
+import com.base.demo.dtos.role.PermissionsChangedEvent;
+import com.base.demo.dtos.user.AssignRolesRequest;
+import com.base.demo.dtos.user.ImportUsersResponse;
+import com.base.demo.exceptions.BadRequestException;
+import com.base.demo.exceptions.InternalServerException;
+import com.base.demo.exceptions.ResourceNotFoundException;
+import com.base.demo.repositories.RoleRepository;
+import com.base.demo.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Import user số lượng lớn (migrate từ hệ thống cũ) bằng JDBC batch, không đi qua JPA.
+ * CSV được đọc từng dòng và xử lý theo chunk, mỗi chunk 1 transaction nên bộ nhớ luôn bị chặn.
+ * Trùng (provider, provider_user_id) được lọc trước khi insert; INSERT IGNORE trên uq_provider_uid chỉ còn
+ * là chốt chặn khi có đăng ký/import chạy song song.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdminUserServiceImpl implements AdminUserService {
+
+    private static final int CHUNK_SIZE = 1_000;
+    private static final int MAX_FULL_NAME_LENGTH = 100;
+    private static final int MAX_IDENTITY_FIELD_LENGTH = 255;
+
+    private static final String INSERT_USER_SQL = "INSERT INTO users (full_name, status) VALUES (?, ?)";
+    private static final String INSERT_IDENTITY_SQL = "INSERT IGNORE INTO user_identities "
+            + "(user_id, provider, provider_user_id, email, email_status) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_WALLET_SQL = "INSERT IGNORE INTO wallets (user_id) VALUES (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final UserRepository userRepository;
+
+    private final RoleRepository roleRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private record ImportRow(String fullName, UserProvider provider, String providerUserId, String email) {
+
+        IdentityKey identityKey() {
+            return new IdentityKey(provider.getValue(), providerUserId);
+        }
+    }
+
+    private record IdentityKey(int provider, String providerUserId) {
+    }
+
+    @Override
+    public ImportUsersResponse importUsers(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            log.warn("File import user rỗng");
+            throw new BadRequestException("File import không được để trống");
+        }
+
+        long start = System.currentTimeMillis();
+        long totalRows = 0;
+        long invalid = 0;
+        long imported = 0;
+        List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            boolean firstLine = true;
+            while ((line = reader.readLine()) != null) {
+                if (firstLine) {
+                    firstLine = false;
+                    line = line.replace("\uFEFF", "");
+                    if (line.toLowerCase().startsWith("name,"))
+                        continue;
+                }
+                if (line.isBlank())
+                    continue;
+
+                totalRows++;
+                ImportRow row = parseRow(line);
+                if (row == null) {
+                    invalid++;
+                    continue;
+                }
+
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    imported += importChunk(chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty())
+                imported += importChunk(chunk);
+        } catch (IOException e) {
+            log.error("Không thể đọc file import user: {}", e.getMessage(), e);
+            throw new InternalServerException("Không thể đọc file import: vui lòng thử lại sau");
+        }
+
+        long durationMs = System.currentTimeMillis() - start;
+        long skippedExisting = totalRows - invalid - imported;
+        log.info("Import user hoàn tất: total={}, imported={}, skipped={}, invalid={}, {}ms",
+                totalRows, imported, skippedExisting, invalid, durationMs);
+
+        return ImportUsersResponse.builder()
+                .totalRows(totalRows)
+                .imported(imported)
+                .skippedExisting(skippedExisting)
+                .invalid(invalid)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void assignRoles(Long userId, AssignRolesRequest request) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+
+        roleRepository.deleteUserRoles(userId);
+        if (!request.getRoleIds().isEmpty()) {
+            int assigned = roleRepository.assignRoles(userId, request.getRoleIds());
+            log.info("Đã gán {} role cho user ID {}", assigned, userId);
+        }
+        eventPublisher.publishEvent(new PermissionsChangedEvent(userId));
+    }
+
+    // ==================== CHUNK ====================
+
+    /**
+     * 1 chunk = 1 transaction:
+     * bỏ dòng trùng trong chunk và identity đã tồn tại -> insert users (lấy generated keys)
+     * -> INSERT IGNORE identities -> INSERT IGNORE wallets.
+     * User chỉ bị xoá khi identity bị tạo song song giữa bước SELECT và INSERT.
+     *
+     * @return số user được tạo mới
+     */
+    private int importChunk(List<ImportRow> chunk) {
+        Integer imported = transactionTemplate.execute(status -> {
+            List<ImportRow> rows = filterNewRows(chunk);
+            if (rows.isEmpty())
+                return 0;
+
+            List<Long> userIds = insertUsers(rows);
+            insertIdentities(rows, userIds);
+
+            Set<Long> linkedUserIds = findLinkedUserIds(userIds);
+            List<Long> orphanUserIds = userIds.stream()
+                    .filter(id -> !linkedUserIds.contains(id))
+                    .toList();
+            if (!orphanUserIds.isEmpty()) {
+                log.warn("{} identity vừa được tạo song song, xoá user import thừa", orphanUserIds.size());
+                jdbcTemplate.update("DELETE FROM users WHERE id IN (" + placeholders(orphanUserIds.size()) + ")",
+                        orphanUserIds.toArray());
+            }
+
+            insertWallets(new ArrayList<>(linkedUserIds));
+            return linkedUserIds.size();
+        });
+        return imported != null ? imported : 0;
+    }
+
+    /** Giữ dòng đầu tiên của mỗi (provider, provider_user_id) và bỏ các cặp đã có trong user_identities. */
+    private List<ImportRow> filterNewRows(List<ImportRow> chunk) {
+        Map<IdentityKey, ImportRow> unique = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            unique.putIfAbsent(row.identityKey(), row);
+        }
+
+        Set<IdentityKey> existing = findExistingIdentities(unique.keySet());
+        if (existing.isEmpty())
+            return new ArrayList<>(unique.values());
+        return unique.values().stream()
+                .filter(row -> !existing.contains(row.identityKey()))
+                .toList();
+    }
+
+    private Set<IdentityKey> findExistingIdentities(Set<IdentityKey> keys) {
+        if (keys.isEmpty())
+            return Collections.emptySet();
+
+        List<Object> args = new ArrayList<>(keys.size() * 2);
+        for (IdentityKey key : keys) {
+            args.add(key.provider());
+            args.add(key.providerUserId());
+        }
+        String tuples = String.join(",", Collections.nCopies(keys.size(), "(?,?)"));
+        return new HashSet<>(jdbcTemplate.query(
+                "SELECT provider, provider_user_id FROM user_identities "
+                        + "WHERE (provider, provider_user_id) IN (" + tuples + ")",
+                (rs, i) -> new IdentityKey(rs.getInt(1), rs.getString(2)),
+                args.toArray()));
+    }
+
+    private List<Long> insertUsers(List<ImportRow> rows) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_USER_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, rows.get(i).fullName());
+                        ps.setInt(2, UserStatus.ACTIVE.getValue());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != rows.size()) {
+            log.error("Số generated key ({}) không khớp số user ({})", keys.size(), rows.size());
+            throw new InternalServerException("Không thể import user: vui lòng thử lại sau");
+        }
+
+        List<Long> userIds = new ArrayList<>(keys.size());
+        for (Map<String, Object> key : keys) {
+            userIds.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return userIds;
+    }
+
+    private void insertIdentities(List<ImportRow> rows, List<Long> userIds) {
+        jdbcTemplate.batchUpdate(INSERT_IDENTITY_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ImportRow row = rows.get(i);
+                ps.setLong(1, userIds.get(i));
+                ps.setInt(2, row.provider().getValue());
+                ps.setString(3, row.providerUserId());
+                ps.setString(4, row.email());
+                ps.setInt(5, UserEmailStatus.UNVERIFIED.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    /** Batch count bị rewrite (SUCCESS_NO_INFO) nên đọc lại user nào đã có identity. */
+    private Set<Long> findLinkedUserIds(List<Long> userIds) {
+        if (userIds.isEmpty())
+            return Collections.emptySet();
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT user_id FROM user_identities WHERE user_id IN (" + placeholders(userIds.size()) + ")",
+                Long.class, userIds.toArray()));
+    }
+
+    private void insertWallets(List<Long> userIds) {
+        if (userIds.isEmpty())
+            return;
+        jdbcTemplate.batchUpdate(INSERT_WALLET_SQL, userIds, userIds.size(),
+                (ps, userId) -> ps.setLong(1, userId));
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    // ==================== CSV ====================
+
+    /** name,provider,provider_user_id,email. Trả về null nếu dòng không hợp lệ. */
+    private ImportRow parseRow(String line) {
+        List<String> fields = splitCsvLine(line);
+        if (fields.size() < 3)
+            return null;
+
+        UserProvider provider = UserProvider.fromName(fields.get(1).trim());
+        String providerUserId = fields.get(2).trim();
+        String email = fields.size() > 3 ? fields.get(3).trim() : "";
+        if (provider == null || providerUserId.isEmpty()
+                || providerUserId.length() > MAX_IDENTITY_FIELD_LENGTH || email.length() > MAX_IDENTITY_FIELD_LENGTH)
+            return null;
+
+        String fullName = fields.get(0).trim();
+        if (fullName.isEmpty())
+            fullName = "Người dùng";
+        if (fullName.length() > MAX_FULL_NAME_LENGTH)
+            fullName = fullName.substring(0, MAX_FULL_NAME_LENGTH);
+
+        return new ImportRow(fullName, provider, providerUserId, email.isEmpty() ? null : email);
+    }
+
+    /** Tách 1 dòng CSV, hỗ trợ field trong dấu "..." và "" escape. */
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
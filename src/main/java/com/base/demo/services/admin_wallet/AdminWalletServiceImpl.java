@@ -2,11 +2,11 @@ package com.base.demo.services.admin_wallet;
 
 import com.base.demo.components.RedisLockComponent;
 import com.base.demo.constants.enums.deposit_request.DepositRequestStatus;
-import com.base.demo.constants.enums.identity.UserProvider;
 import com.base.demo.constants.enums.wallet.WalletStatus;
 import com.base.demo.constants.enums.wallet_transaction.WalletTransactionDirection;
 import com.base.demo.constants.enums.wallet_transaction.WalletTransactionType;
 import com.base.demo.dtos.deposit_request.ReviewDepositResponse;
+import com.base.demo.dtos.wallet.WalletChangedEvent;
 import com.base.demo.entities.DepositRequest;
 import com.base.demo.entities.Wallet;
 import com.base.demo.entities.WalletTransaction;
@@ -18,6 +18,7 @@ import com.base.demo.repositories.WalletRepository;
 import com.base.demo.repositories.WalletTransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -41,6 +42,8 @@ public class AdminWalletServiceImpl implements AdminWalletService {
 
     private final OAuth2UserHelper oAuth2UserHelper;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional
     public ReviewDepositResponse approveDepositRequest(OAuth2User principal, Long id) {
@@ -73,7 +76,9 @@ public class AdminWalletServiceImpl implements AdminWalletService {
             WalletTransaction updatedWalletTransaction = createWalletTransaction(wallet, depositRequest, WalletTransactionType.DEPOSIT, WalletTransactionDirection.CREDIT);
             Wallet updatedWallet = creditWallet(wallet, depositRequest.getAmount());
             updatedWalletTransaction.setBalanceAfter(updatedWallet.getBalance());
-            walletTransactionRepository.save(updatedWalletTransaction);
+            WalletTransaction savedWalletTransaction = walletTransactionRepository.save(updatedWalletTransaction);
+            eventPublisher.publishEvent(new WalletChangedEvent(updatedWallet.getUserId(), updatedWallet.getId(),
+                    savedWalletTransaction.getId()));
 
             return ReviewDepositResponse.builder()
                     .id(depositRequest.getId())
@@ -94,8 +99,7 @@ public class AdminWalletServiceImpl implements AdminWalletService {
     }
 
     private void approveDepositRequest(DepositRequest depositRequest, OAuth2User principal) {
-        String userProviderId = oAuth2UserHelper.getProviderUserId(principal);
-        Long userIdProcess = oAuth2UserHelper.getUserIdentity(UserProvider.GOOGLE, userProviderId).getUserId();
+        Long userIdProcess = oAuth2UserHelper.getUserId(principal);
 
         depositRequest.setStatus(DepositRequestStatus.APPROVED);
         depositRequest.setAdminNote("Duyệt yêu cầu nạp " + depositRequest.getAmount() + " thành công");
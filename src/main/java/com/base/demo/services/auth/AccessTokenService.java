@@ -0,0 +1,12 @@
+package com.base.demo.services.auth;
+
+import com.base.demo.dtos.auth.AccessTokenResponse;
+import com.base.demo.services.oauth.AppOAuth2User;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+public interface AccessTokenService {
+    AccessTokenResponse issueAccessToken(AppOAuth2User user);
+
+    AbstractAuthenticationToken toAuthentication(Jwt jwt);
+}
@@ -0,0 +1,114 @@
+package com.base.demo.services.auth;
+
+import com.base.demo.constants.enums.user.UserStatus;
+import com.base.demo.dtos.auth.AccessTokenResponse;
+import com.base.demo.services.oauth.AppOAuth2User;
+import com.base.demo.services.permission.PermissionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access token JWT: chứa userId (sub), walletId, status, roles, permission bitset (perm, để client hiển thị;
+ * server vẫn kiểm tra quyền theo cache để thu hồi quyền có hiệu lực ngay).
+ * Verify local bằng public key -> request API không cần session hay query identity.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccessTokenServiceImpl implements AccessTokenService {
+
+    private static final String CLAIM_PROVIDER_USER_ID = "puid";
+    private static final String CLAIM_WALLET_ID = "wid";
+    private static final String CLAIM_STATUS = "sts";
+    private static final String CLAIM_ROLES = "roles";
+    private static final String CLAIM_PERMISSIONS = "perm";
+    private static final String CLAIM_REGISTRATION_ID = "reg";
+    private static final String ATTRIBUTE_USER_ID = "uid";
+
+    private final JwtEncoder jwtEncoder;
+
+    private final PermissionService permissionService;
+
+    @Value("${jwt.issuer}")
+    private String issuer;
+
+    @Value("${jwt.access-token-ttl:15m}")
+    private Duration accessTokenTtl;
+
+    @Override
+    public AccessTokenResponse issueAccessToken(AppOAuth2User user) {
+        Instant now = Instant.now();
+        JwtClaimsSet.Builder claims = JwtClaimsSet.builder()
+                .issuer(issuer)
+                .issuedAt(now)
+                .expiresAt(now.plus(accessTokenTtl))
+                .subject(String.valueOf(user.getUserId()))
+                .claim(CLAIM_REGISTRATION_ID, "google")
+                .claim(CLAIM_ROLES, user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                .claim(CLAIM_PERMISSIONS, permissionService.getPermissionMask(user.getUserId()));
+
+        putIfNotNull(claims, CLAIM_PROVIDER_USER_ID, user.getAttribute("sub"));
+        putIfNotNull(claims, "name", user.getAttribute("name"));
+        putIfNotNull(claims, "email", user.getAttribute("email"));
+        putIfNotNull(claims, CLAIM_WALLET_ID, user.getWalletId());
+        putIfNotNull(claims, CLAIM_STATUS, user.getStatus() != null ? user.getStatus().getValue() : null);
+
+        JwsHeader header = JwsHeader.with(SignatureAlgorithm.RS256).build();
+        String token = jwtEncoder.encode(JwtEncoderParameters.from(header, claims.build())).getTokenValue();
+
+        return AccessTokenResponse.builder()
+                .accessToken(token)
+                .tokenType("Bearer")
+                .expiresIn(accessTokenTtl.toSeconds())
+                .build();
+    }
+
+    @Override
+    public AbstractAuthenticationToken toAuthentication(Jwt jwt) {
+        List<String> roles = jwt.getClaimAsStringList(CLAIM_ROLES);
+        List<GrantedAuthority> authorities = roles == null ? List.of()
+                : roles.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+
+        Long userId = Long.valueOf(jwt.getSubject());
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(ATTRIBUTE_USER_ID, userId);
+        putIfNotNull(attributes, "sub", jwt.getClaimAsString(CLAIM_PROVIDER_USER_ID));
+        putIfNotNull(attributes, "name", jwt.getClaimAsString("name"));
+        putIfNotNull(attributes, "email", jwt.getClaimAsString("email"));
+
+        Number walletId = jwt.getClaim(CLAIM_WALLET_ID);
+        Number status = jwt.getClaim(CLAIM_STATUS);
+        AppOAuth2User principal = new AppOAuth2User(authorities, attributes, ATTRIBUTE_USER_ID, userId,
+                walletId != null ? walletId.longValue() : null,
+                status != null ? UserStatus.fromValue(status.intValue()) : null);
+
+        String registrationId = jwt.getClaimAsString(CLAIM_REGISTRATION_ID);
+        return new OAuth2AuthenticationToken(principal, authorities, registrationId != null ? registrationId : "google");
+    }
+
+    private void putIfNotNull(JwtClaimsSet.Builder claims, String name, Object value) {
+        if (value != null)
+            claims.claim(name, value);
+    }
+
+    private void putIfNotNull(Map<String, Object> attributes, String name, Object value) {
+        if (value != null)
+            attributes.put(name, value);
+    }
+}
@@ -2,19 +2,17 @@ package com.base.demo.services.deposit_request;
 
 import com.base.demo.components.RedisLockComponent;
 import com.base.demo.constants.enums.deposit_request.DepositRequestStatus;
-import com.base.demo.constants.enums.identity.UserProvider;
 import com.base.demo.constants.enums.wallet.WalletStatus;
 import com.base.demo.dtos.deposit_request.CreateDepositRequest;
 import com.base.demo.dtos.deposit_request.CreateDepositResponse;
 import com.base.demo.entities.DepositRequest;
-import com.base.demo.entities.Wallet;
 import com.base.demo.exceptions.BadRequestException;
 import com.base.demo.exceptions.ConflictException;
 import com.base.demo.exceptions.InternalServerException;
-import com.base.demo.exceptions.ResourceNotFoundException;
 import com.base.demo.helpers.OAuth2UserHelper;
 import com.base.demo.repositories.DepositRequestRepository;
 import com.base.demo.repositories.WalletRepository;
+import com.base.demo.services.wallet.WalletService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,10 +27,20 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class DepositRequestServiceImpl implements DepositRequestService {
 
+    // Exception stackless + bất biến -> dùng chung 1 instance cho các lỗi dự kiến, hay lặp lại khi client retry
+    private static final InternalServerException WALLET_NOT_ACTIVE =
+            new InternalServerException("Ví của bạn không thể nạp tiền");
+    private static final InternalServerException SYSTEM_BUSY =
+            new InternalServerException("Hệ thống đang bận, vui lòng thử lại sau");
+    private static final ConflictException DEPOSIT_PENDING =
+            new ConflictException("Bạn có yêu cầu nạp tiền chưa xử lý, vui lòng thử lại sau");
+
     private final DepositRequestRepository depositRequestRepository;
 
     private final WalletRepository walletRepository;
 
+    private final WalletService walletService;
+
     private final OAuth2UserHelper oAuth2UserHelper;
 
     private final RedisLockComponent redisLockComponent;
@@ -51,33 +59,33 @@ public class DepositRequestServiceImpl implements DepositRequestService {
         }
 
         // Validate có ví và trạng thái
-        String userProviderId = oAuth2UserHelper.getProviderUserId(principal);
-        Long userId = oAuth2UserHelper.getUserIdentity(UserProvider.GOOGLE, userProviderId).getUserId();
-        Wallet wallet = walletRepository.findByUserId(userId);
-        if (wallet == null) {
-            log.error("Bạn chưa có ví điện tử");
-            throw new ResourceNotFoundException("Bạn chưa có ví điện tử");
+        Long userId = oAuth2UserHelper.getUserId(principal);
+        Long walletId = oAuth2UserHelper.getWalletId(principal);
+        if (walletId == null) {
+            // Principal cố định lúc login: ví do consumer tạo sau đó -> đọc id đã cache trước khi ghi
+            walletId = walletRepository.findIdByUserId(userId);
+        }
+        if (walletId == null) {
+            // Ví có thể chưa được tạo (provisioning bất đồng bộ) -> tạo lazy, idempotent
+            walletId = walletService.provisionWallet(userId);
         }
 
-        if (!wallet.getStatus().equals(WalletStatus.ACTIVE)) {
-            log.error("Ví của bạn không thể nạp tiền");
-            throw new InternalServerException("Ví của bạn không thể nạp tiền");
+        if (!WalletStatus.ACTIVE.equals(walletRepository.findStatusByUserId(userId))) {
+            throw WALLET_NOT_ACTIVE;
         }
 
         // Khoá giao dịch trùng lặp
         String redisKey = "app:deposit:lock:user:" + userId;
         boolean checkRedisLock = redisLockComponent.tryLock(redisKey, 10, TimeUnit.SECONDS);
         if (!checkRedisLock) {
-            log.warn("Hệ thống đang bận, vui lòng thử lại sau");
-            throw new InternalServerException("Hệ thống đang bận, vui lòng thử lại sau");
+            throw SYSTEM_BUSY;
         }
 
         // Ngăn chặn tạo nhiều giao dịch pending
         boolean checkDepositPending = depositRequestRepository.existsByUserIdAndStatus(userId,
                 DepositRequestStatus.PENDING);
         if (checkDepositPending) {
-            log.warn("Bạn có yêu cầu nạp tiền chưa xử lý, vui lòng thử lại sau");
-            throw new ConflictException("Bạn có yêu cầu nạp tiền chưa xử lý, vui lòng thử lại sau");
+            throw DEPOSIT_PENDING;
         }
 
         // Tạo yêu cầu nạp tiền
@@ -86,7 +94,7 @@ public class DepositRequestServiceImpl implements DepositRequestService {
         depositRequest.setAmount(amount);
         depositRequest.setTransactionCode(request.getTransactionCode());
         depositRequest.setTransferReference(
-                "user_id " + userId + " yêu cầu nạp " + amount + " vào ví wallet_id " + wallet.getId());
+                "user_id " + userId + " yêu cầu nạp " + amount + " vào ví wallet_id " + walletId);
         depositRequest.setStatus(DepositRequestStatus.PENDING);
         depositRequest.setIpAddress(depositRequest.getIpAddress());
         depositRequest.setUserAgent(depositRequest.getUserAgent());
@@ -0,0 +1,36 @@
+package com.base.demo.services.oauth;
+
+import com.base.demo.constants.enums.user.UserStatus;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+
+import java.io.Serial;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Principal sau khi login OAuth2: giữ nguyên attributes của provider,
+ * kèm thông tin nội bộ (userId, walletId, status) được resolve 1 lần lúc login
+ * và lưu trong session -> các request sau không cần query user_identities.
+ */
+@Getter
+public class AppOAuth2User extends DefaultOAuth2User {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String nameAttributeKey;
+    private final Long userId;
+    private final Long walletId;
+    private final UserStatus status;
+
+    public AppOAuth2User(Collection<? extends GrantedAuthority> authorities, Map<String, Object> attributes,
+            String nameAttributeKey, Long userId, Long walletId, UserStatus status) {
+        super(authorities, attributes, nameAttributeKey);
+        this.nameAttributeKey = nameAttributeKey;
+        this.userId = userId;
+        this.walletId = walletId;
+        this.status = status;
+    }
+}
@@ -3,15 +3,16 @@ package com.base.demo.services.oauth;
 import com.base.demo.constants.enums.identity.UserEmailStatus;
 import com.base.demo.constants.enums.identity.UserProvider;
 import com.base.demo.constants.enums.user.UserStatus;
-import com.base.demo.dtos.wallet.CreateWalletRequest;
+import com.base.demo.dtos.user.UserCreatedEvent;
 import com.base.demo.entities.User;
 import com.base.demo.entities.UserIdentity;
 import com.base.demo.exceptions.InternalServerException;
 import com.base.demo.repositories.UserIdentityRepository;
 import com.base.demo.repositories.UserRepository;
-import com.base.demo.services.wallet.WalletService;
+import com.base.demo.repositories.WalletRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
@@ -28,7 +29,8 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
     private final UserRepository userRepository;
     private final UserIdentityRepository userIdentityRepository;
-    private final WalletService walletService;
+    private final WalletRepository walletRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -54,14 +56,20 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
             Optional<UserIdentity> existingIdentity = userIdentityRepository
                     .findByProviderAndProviderUserId(UserProvider.GOOGLE, providerUserId);
 
+            Long userId;
+            Long walletId;
+            UserStatus userStatus;
+
             if (existingIdentity.isPresent()) {
-                // Validate user vẫn tồn tại
+                // Validate user vẫn tồn tại (lấy luôn status để đưa vào principal)
                 UserIdentity identity = existingIdentity.get();
-                boolean userExists = userRepository.existsById(identity.getUserId());
-                if (!userExists) {
-                    log.error("User ID {} không tồn tại nhưng identity vẫn còn", identity.getUserId());
+                userId = identity.getUserId();
+                userStatus = userRepository.findStatusById(userId);
+                if (userStatus == null) {
+                    log.error("User ID {} không tồn tại nhưng identity vẫn còn", userId);
                     throw new InternalServerException("Dữ liệu không nhất quán: vui lòng liên hệ hỗ trợ");
                 }
+                walletId = walletRepository.findIdByUserId(userId);
             } else {
                 // Tạo user mới
                 User newUser = new User();
@@ -97,14 +105,21 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
                 log.info("Đã tạo tài khoản mới cho user: {} ({})", name, email);
 
-                // Tạo ví cho user
-                CreateWalletRequest request = CreateWalletRequest.builder()
-                        .userId(newUser.getId())
-                        .build();
-                walletService.createWallet(request);
+                // Ví được tạo bất đồng bộ qua USER_EVENTS (publish sau khi commit),
+                // nếu consumer chưa kịp xử lý thì ví được tạo lazy ở lần truy cập đầu tiên
+                userId = newUser.getId();
+                userStatus = newUser.getStatus();
+                walletId = null;
+                eventPublisher.publishEvent(UserCreatedEvent.builder()
+                        .userId(userId)
+                        .email(email)
+                        .build());
             }
 
-            return oauth2User;
+            String nameAttributeKey = userRequest.getClientRegistration().getProviderDetails()
+                    .getUserInfoEndpoint().getUserNameAttributeName();
+            return new AppOAuth2User(oauth2User.getAuthorities(), oauth2User.getAttributes(), nameAttributeKey,
+                    userId, walletId, userStatus);
         } catch (Exception e) {
             log.error("OAuth2 login failed: {}", e.getMessage(), e);
             throw e;
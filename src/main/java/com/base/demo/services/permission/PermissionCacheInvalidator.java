@@ -0,0 +1,37 @@
+package com.base.demo.services.permission;
+
+import com.base.demo.constants.CacheNames;
+import com.base.demo.dtos.role.PermissionsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evict cache role/permission sau khi transaction commit
+ * (@CacheEvict trên method @Transactional chạy trước commit, request khác có thể cache lại quyền cũ).
+ */
+@Component
+@RequiredArgsConstructor
+public class PermissionCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPermissionsChanged(PermissionsChangedEvent event) {
+        Cache permissions = cacheManager.getCache(CacheNames.USER_PERMISSIONS);
+        if (event.userId() != null) {
+            if (permissions != null)
+                permissions.evict(event.userId());
+            return;
+        }
+
+        if (permissions != null)
+            permissions.clear();
+        Cache roles = cacheManager.getCache(CacheNames.ROLES);
+        if (roles != null)
+            roles.clear();
+    }
+}
@@ -0,0 +1,9 @@
+package com.base.demo.services.permission;
+
+import com.base.demo.constants.enums.role.Permission;
+
+public interface PermissionService {
+    long getPermissionMask(Long userId);
+
+    boolean hasPermission(Long userId, Permission permission);
+}
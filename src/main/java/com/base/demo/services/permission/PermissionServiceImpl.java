@@ -0,0 +1,31 @@
+package com.base.demo.services.permission;
+
+import com.base.demo.constants.enums.role.Permission;
+import com.base.demo.repositories.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Permission bitset của user, cache 2 tầng theo userId (CacheNames.USER_PERMISSIONS).
+ * Cache bị evict khi gán role cho user hoặc khi role thay đổi quyền (xem PermissionCacheInvalidator).
+ */
+@Service
+@RequiredArgsConstructor
+public class PermissionServiceImpl implements PermissionService {
+
+    private final RoleRepository roleRepository;
+
+    @Override
+    public long getPermissionMask(Long userId) {
+        if (userId == null)
+            return 0L;
+
+        Long mask = roleRepository.findPermissionMaskByUserId(userId);
+        return mask != null ? mask : 0L;
+    }
+
+    @Override
+    public boolean hasPermission(Long userId, Permission permission) {
+        return permission.isGrantedIn(getPermissionMask(userId));
+    }
+}
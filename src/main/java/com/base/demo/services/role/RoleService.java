@@ -1,13 +1,12 @@
 package com.base.demo.services.role;
 
+import com.base.demo.dtos.common.SliceResponse;
 import com.base.demo.dtos.role.CreateRoleRequest;
 import com.base.demo.dtos.role.GetRoleResponse;
 import com.base.demo.dtos.role.UpdateRoleRequest;
 
-import java.util.List;
-
 public interface RoleService {
-    List<GetRoleResponse> getRoles(String role, String description, int page, int size);
+    SliceResponse<GetRoleResponse> getRoles(String role, String description, int page, int size, boolean withTotal);
 
     void createRole(CreateRoleRequest request);
 
@@ -1,18 +1,27 @@
 package com.base.demo.services.role;
 
+import com.base.demo.constants.CacheNames;
+import com.base.demo.constants.enums.role.Permission;
+import com.base.demo.dtos.common.SliceResponse;
 import com.base.demo.dtos.role.CreateRoleRequest;
 import com.base.demo.dtos.role.GetRoleResponse;
+import com.base.demo.dtos.role.PermissionsChangedEvent;
 import com.base.demo.dtos.role.UpdateRoleRequest;
 import com.base.demo.entities.Role;
 import com.base.demo.exceptions.ConflictException;
 import com.base.demo.exceptions.ResourceNotFoundException;
+import com.base.demo.helpers.FullTextSearchHelper;
 import com.base.demo.repositories.RoleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-
-import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -20,19 +29,74 @@ public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepository;
 
+    private final FullTextSearchHelper fullTextSearchHelper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** Bộ lọc đã chuẩn hoá: FULLTEXT (query boolean mode, null = không lọc) hoặc LIKE fallback. */
+    private record RoleFilter(boolean fullText, String role, String description) {
+    }
+
     @Override
-    public List<GetRoleResponse> getRoles(String role, String description, int page, int size) {
+    @Cacheable(value = CacheNames.ROLES,
+            key = "'slice:' + #role + ':' + #description + ':' + #page + ':' + #size + ':' + #withTotal")
+    public SliceResponse<GetRoleResponse> getRoles(String role, String description, int page, int size,
+            boolean withTotal) {
         Pageable pageable = PageRequest.of(page, size);
-
-        List<Role> roles = roleRepository.findByFilters(role, description, pageable);
-        return roles.stream().map(r -> GetRoleResponse.builder()
+        RoleFilter filter = resolveFilter(role, description);
+
+        // Slice: lấy dư 1 bản ghi để biết hasNext, không chạy COUNT
+        Slice<Role> roles;
+        if (!filter.fullText())
+            roles = roleRepository.findByFilters(filter.role(), filter.description(), pageable);
+        else if (filter.description() == null)
+            roles = roleRepository.searchByName(filter.role(), pageable);
+        else if (filter.role() == null)
+            roles = roleRepository.searchByDescription(filter.description(), pageable);
+        else
+            roles = roleRepository.search(filter.role(), filter.description(), pageable);
+
+        SliceResponse<GetRoleResponse> response = SliceResponse.of(roles, r -> GetRoleResponse.builder()
                 .id(r.getId())
                 .name(r.getName())
                 .description(r.getDescription())
-                .build()).toList();
+                .permissions(Permission.fromMask(r.getPermissions()))
+                .build());
+
+        if (withTotal) {
+            // Tổng xấp xỉ, cache theo filter (CacheNames.ROLE_COUNTS)
+            response.setTotalElements(count(filter));
+        }
+        return response;
+    }
+
+    private long count(RoleFilter filter) {
+        if (!filter.fullText())
+            return roleRepository.countByFilters(filter.role(), filter.description());
+        if (filter.description() == null)
+            return roleRepository.countSearchByName(filter.role());
+        if (filter.role() == null)
+            return roleRepository.countSearchByDescription(filter.description());
+        return roleRepository.countSearch(filter.role(), filter.description());
+    }
+
+    /** Ưu tiên FULLTEXT, chỉ fallback LIKE khi từ khoá quá ngắn so với ngram_token_size. */
+    private RoleFilter resolveFilter(String role, String description) {
+        if (fullTextSearchHelper.needsFallback(role) || fullTextSearchHelper.needsFallback(description)) {
+            return new RoleFilter(false, role, description);
+        }
+
+        String roleQuery = fullTextSearchHelper.toBooleanQuery(role);
+        String descriptionQuery = fullTextSearchHelper.toBooleanQuery(description);
+        if (roleQuery == null && descriptionQuery == null) {
+            return new RoleFilter(false, null, null);
+        }
+
+        return new RoleFilter(true, roleQuery, descriptionQuery);
     }
 
     @Override
+    @CacheEvict(value = CacheNames.ROLES, allEntries = true)
     public void createRole(CreateRoleRequest request) {
         if (roleRepository.existsByName(request.getName())) {
             throw new ConflictException("Role với tên '" + request.getName() + "' đã tồn tại");
@@ -41,10 +105,15 @@ public class RoleServiceImpl implements RoleService {
         Role role = new Role();
         role.setName(request.getName());
         role.setDescription(request.getDescription());
+        role.setPermissions(Permission.toMask(request.getPermissions()));
         roleRepository.save(role);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.ROLES, allEntries = true),
+            @CacheEvict(value = CacheNames.USER_PERMISSIONS, allEntries = true)
+    })
     public void updateRole(Long id, UpdateRoleRequest request) {
         Role role = roleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Role", "id", id));
@@ -61,16 +130,23 @@ public class RoleServiceImpl implements RoleService {
             role.setDescription(request.getDescription());
         }
 
+        if (request.getPermissions() != null) {
+            role.setPermissions(Permission.toMask(request.getPermissions()));
+        }
+
         roleRepository.save(role);
     }
 
     @Override
+    @Transactional
     public void deleteRole(Long id) {
         if (!roleRepository.existsById(id)) {
             throw new ResourceNotFoundException("Role", "id", id);
         }
 
+        roleRepository.deleteRoleAssignments(id);
         roleRepository.deleteById(id);
+        eventPublisher.publishEvent(new PermissionsChangedEvent(null));
     }
 
 }
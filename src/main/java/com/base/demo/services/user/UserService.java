@@ -1,10 +1,12 @@
 package com.base.demo.services.user;
 
-import com.base.demo.dtos.user.CreateUserRequest;
+import com.base.demo.constants.enums.user.UserStatus;
+import com.base.demo.dtos.common.CursorPageResponse;
+import com.base.demo.dtos.common.SliceResponse;
 import com.base.demo.dtos.user.GetUserResponse;
-import com.base.demo.dtos.user.UpdateUserRequest;
-
-import java.util.List;
 
 public interface UserService {
+    CursorPageResponse<GetUserResponse> getUsers(Long afterId, UserStatus status, String email, int size);
+
+    SliceResponse<GetUserResponse> searchUsers(String keyword, int page, int size);
 }
@@ -1,21 +1,79 @@
 package com.base.demo.services.user;
 
-import com.base.demo.dtos.user.CreateUserRequest;
+import com.base.demo.constants.enums.user.UserStatus;
+import com.base.demo.dtos.common.CursorPageResponse;
+import com.base.demo.dtos.common.SliceResponse;
 import com.base.demo.dtos.user.GetUserResponse;
-import com.base.demo.dtos.user.UpdateUserRequest;
 import com.base.demo.entities.User;
+import com.base.demo.entities.UserIdentity;
+import com.base.demo.exceptions.BadRequestException;
+import com.base.demo.helpers.FullTextSearchHelper;
+import com.base.demo.repositories.UserIdentityRepository;
 import com.base.demo.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final UserRepository userRepository;
+
+    private final UserIdentityRepository userIdentityRepository;
+
+    private final FullTextSearchHelper fullTextSearchHelper;
+
+    @Override
+    public CursorPageResponse<GetUserResponse> getUsers(Long afterId, UserStatus status, String email, int size) {
+        int pageSize = normalizeSize(size);
+        String emailFilter = email != null && !email.isBlank() ? email.trim() : null;
+
+        // Lấy dư 1 bản ghi để biết còn trang sau mà không cần COUNT
+        List<GetUserResponse> rows = userRepository.findPageAfter(afterId, status, emailFilter,
+                Limit.of(pageSize + 1));
+        return CursorPageResponse.of(rows, pageSize, GetUserResponse::getId);
+    }
+
+    @Override
+    public SliceResponse<GetUserResponse> searchUsers(String keyword, int page, int size) {
+        if (keyword == null || keyword.isBlank()) {
+            throw new BadRequestException("Từ khoá tìm kiếm không được để trống");
+        }
+
+        Pageable pageable = PageRequest.of(Math.max(page, 0), normalizeSize(size));
+        String query = fullTextSearchHelper.toBooleanQuery(keyword);
+        if (query == null) {
+            // Không fallback LIKE '%...%': full scan trên bảng users hàng triệu dòng
+            throw new BadRequestException("Từ khoá tìm kiếm phải có ít nhất 1 từ dài từ "
+                    + fullTextSearchHelper.getNgramTokenSize() + " ký tự");
+        }
+        Slice<User> users = userRepository.searchByFullName(query, pageable);
+
+        // 1 query IN cho toàn bộ trang, tránh N+1
+        Map<Long, String> emails = users.isEmpty() ? Map.of() : userIdentityRepository
+                .findByUserIdIn(users.map(User::getId).getContent()).stream()
+                .filter(identity -> identity.getEmail() != null)
+                .collect(Collectors.toMap(UserIdentity::getUserId, UserIdentity::getEmail, (a, b) -> a));
+
+        return SliceResponse.of(users, u -> GetUserResponse.builder()
+                .id(u.getId())
+                .fullName(u.getFullName())
+                .email(emails.get(u.getId()))
+                .status(u.getStatus())
+                .build());
+    }
+
+    private int normalizeSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
 }
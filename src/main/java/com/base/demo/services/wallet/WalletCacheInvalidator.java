@@ -0,0 +1,44 @@
+package com.base.demo.services.wallet;
+
+import com.base.demo.components.RedisComponent;
+import com.base.demo.constants.CacheNames;
+import com.base.demo.dtos.wallet.WalletChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evict cache version/status của ví sau khi transaction commit
+ * (evict trước commit thì request khác có thể cache lại giá trị cũ).
+ * Snapshot được ghi đè bằng tombstone thay vì DEL: batch lookup đã đọc DB trước commit
+ * ghi lại bằng SET NX nên không thể đặt lại snapshot cũ trong lúc tombstone còn sống.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WalletCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    private final RedisComponent redisComponent;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onWalletChanged(WalletChangedEvent event) {
+        evict(CacheNames.WALLET_VERSIONS, event.userId());
+        evict(CacheNames.WALLET_STATUS, event.userId());
+        redisComponent.set(WalletServiceImpl.SNAPSHOT_KEY_PREFIX + event.userId(), WalletServiceImpl.SNAPSHOT_TOMBSTONE,
+                WalletServiceImpl.SNAPSHOT_TOMBSTONE_TTL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void evict(String cacheName, Long userId) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null)
+            cache.evict(userId);
+    }
+}
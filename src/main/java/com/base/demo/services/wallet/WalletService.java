@@ -1,10 +1,17 @@
 package com.base.demo.services.wallet;
 
+import com.base.demo.dtos.wallet.BatchWalletResponse;
 import com.base.demo.dtos.wallet.CreateWalletRequest;
 import com.base.demo.dtos.wallet.GetWalletResponse;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 
+import java.util.List;
+
 public interface WalletService {
-    void createWallet(CreateWalletRequest request);
+    Long createWallet(CreateWalletRequest request);
+    Long provisionWallet(Long userId);
     GetWalletResponse getWallet(OAuth2User principal);
+    BatchWalletResponse getWallets(List<Long> userIds);
+    String getWalletETag(OAuth2User principal);
+    String toETag(Long userId, Integer version);
 }
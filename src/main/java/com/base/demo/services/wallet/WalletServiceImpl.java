@@ -1,9 +1,10 @@
 package com.base.demo.services.wallet;
 
-import com.base.demo.constants.enums.identity.UserProvider;
+import com.base.demo.components.RedisComponent;
+import com.base.demo.components.SingleFlightComponent;
+import com.base.demo.dtos.wallet.BatchWalletResponse;
 import com.base.demo.dtos.wallet.CreateWalletRequest;
 import com.base.demo.dtos.wallet.GetWalletResponse;
-import com.base.demo.entities.UserIdentity;
 import com.base.demo.entities.Wallet;
 import com.base.demo.exceptions.ConflictException;
 import com.base.demo.exceptions.InternalServerException;
@@ -16,19 +17,41 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class WalletServiceImpl implements WalletService {
 
+    /** Snapshot ví cho batch lookup, thay bằng tombstone sau commit ở WalletCacheInvalidator. */
+    static final String SNAPSHOT_KEY_PREFIX = "app:wallet:snapshot:";
+    /**
+     * Giữ chỗ key snapshot ngay sau khi ví đổi: write-back SET NX của request đã đọc DB trước commit
+     * sẽ không ghi đè được, đọc gặp tombstone coi như miss.
+     */
+    static final String SNAPSHOT_TOMBSTONE = "tombstone";
+    static final long SNAPSHOT_TOMBSTONE_TTL_SECONDS = 5;
+    private static final long SNAPSHOT_TTL_SECONDS = 30;
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
     private final WalletRepository walletRepository;
 
     private final UserIdentityRepository userIdentityRepository;
 
     private final OAuth2UserHelper oAuth2UserHelper;
 
+    private final SingleFlightComponent singleFlight;
+
+    private final RedisComponent redisComponent;
+
     @Override
-    public void createWallet(CreateWalletRequest request) {
+    public Long createWallet(CreateWalletRequest request) {
         // Validate ví cho user đã tồn tại
         boolean walletExists = walletRepository.existsByUserId(request.getUserId());
         if (walletExists) {
@@ -50,21 +73,46 @@ public class WalletServiceImpl implements WalletService {
             log.error("không thể tạo ví cho user ID {}", request.getUserId());
             throw new InternalServerException("Không thể tạo ví: vui lòng thử lại sau");
         }
+
+        return savedWallet.getId();
+    }
+
+    @Override
+    public Long provisionWallet(Long userId) {
+        // Idempotent: gọi lại nhiều lần (Kafka redelivery, lazy create) vẫn chỉ có 1 ví
+        if (walletRepository.insertIgnoreByUserId(userId) > 0) {
+            log.info("Đã tạo ví cho user ID {}", userId);
+        }
+
+        Long walletId = walletRepository.findIdByUserId(userId);
+        if (walletId == null) {
+            log.error("không thể tạo ví cho user ID {}", userId);
+            throw new InternalServerException("Không thể tạo ví: vui lòng thử lại sau");
+        }
+        return walletId;
     }
 
     @Override
     public GetWalletResponse getWallet(OAuth2User principal) {
-        // Lấy Google sub (provider user id)
-        String providerUserId = oAuth2UserHelper.getProviderUserId(principal);
+        // userId lấy từ principal (đã resolve lúc login)
+        Long userId = oAuth2UserHelper.getUserId(principal);
 
-        // Tìm user trong database
-        UserIdentity identity = oAuth2UserHelper.getUserIdentity(UserProvider.GOOGLE, providerUserId);
+        // Nhiều widget cùng lúc gọi ví của 1 user -> chỉ 1 query, các request còn lại dùng chung kết quả
+        return singleFlight.execute("wallet", String.valueOf(userId), () -> loadWallet(userId));
+    }
+
+    private GetWalletResponse loadWallet(Long userId) {
+        Wallet wallet = walletRepository.findByUserId(userId);
 
-        Wallet wallet = walletRepository.findByUserId(identity.getUserId());
+        // Ví chưa được consumer USER_EVENTS tạo kịp -> tạo lazy
+        if (wallet == null) {
+            provisionWallet(userId);
+            wallet = walletRepository.findByUserId(userId);
+        }
 
         if (wallet == null) {
-            log.warn("Không tìm thấy ví cho user ID: {}", identity.getUserId());
-            throw new ResourceNotFoundException("Wallet", "userId", identity.getUserId());
+            log.warn("Không tìm thấy ví cho user ID: {}", userId);
+            throw new ResourceNotFoundException("Wallet", "userId", userId);
         }
 
         GetWalletResponse walletResponse = new GetWalletResponse();
@@ -73,8 +121,75 @@ public class WalletServiceImpl implements WalletService {
         walletResponse.setAvailableBalance(wallet.getBalance().subtract(wallet.getPendingBalance()));
         walletResponse.setPendingBalance(wallet.getPendingBalance());
         walletResponse.setStatus(wallet.getStatus());
+        walletResponse.setVersion(wallet.getVersion());
 
         return walletResponse;
     }
 
+    /**
+     * Số dư/trạng thái của nhiều ví: 1 MGET Redis, phần miss đọc bằng WHERE user_id IN (...)
+     * (chia chunk 1000) rồi ghi lại Redis bằng pipeline SET NX. Thứ tự kết quả theo userIds đầu vào.
+     * Key đang là tombstone (ví vừa đổi) thì SET NX bỏ qua, tránh ghi đè snapshot cũ sau invalidation.
+     */
+    @Override
+    public BatchWalletResponse getWallets(List<Long> userIds) {
+        List<Long> distinctIds = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        List<String> keys = distinctIds.stream().map(id -> SNAPSHOT_KEY_PREFIX + id).toList();
+        List<Object> cached = redisComponent.multiGet(keys);
+
+        Map<Long, GetWalletResponse> wallets = new HashMap<>(distinctIds.size() * 2);
+        List<Long> missedIds = new ArrayList<>();
+        for (int i = 0; i < distinctIds.size(); i++) {
+            // null/tombstone/lỗi Redis (list rỗng) -> đọc DB; codec json trả về Map nên phải convert
+            Object value = i < cached.size() ? cached.get(i) : null;
+            GetWalletResponse wallet = SNAPSHOT_TOMBSTONE.equals(value) ? null
+                    : redisComponent.convert(value, GetWalletResponse.class);
+            if (wallet != null)
+                wallets.put(distinctIds.get(i), wallet);
+            else
+                missedIds.add(distinctIds.get(i));
+        }
+
+        if (!missedIds.isEmpty()) {
+            Map<String, Object> writeBack = new HashMap<>(missedIds.size() * 2);
+            for (int from = 0; from < missedIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+                List<Long> chunk = missedIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, missedIds.size()));
+                for (GetWalletResponse wallet : walletRepository.findSnapshotsByUserIdIn(chunk)) {
+                    wallets.put(wallet.getUserId(), wallet);
+                    writeBack.put(SNAPSHOT_KEY_PREFIX + wallet.getUserId(), wallet);
+                }
+            }
+            redisComponent.multiSetIfAbsent(writeBack, SNAPSHOT_TTL_SECONDS, TimeUnit.SECONDS);
+        }
+
+        List<GetWalletResponse> found = new ArrayList<>(wallets.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long userId : distinctIds) {
+            GetWalletResponse wallet = wallets.get(userId);
+            if (wallet != null)
+                found.add(wallet);
+            else
+                missing.add(userId);
+        }
+
+        log.debug("Batch wallet lookup: requested={}, cacheHits={}, missing={}", distinctIds.size(),
+                distinctIds.size() - missedIds.size(), missing.size());
+        return BatchWalletResponse.builder()
+                .wallets(found)
+                .missingUserIds(missing)
+                .build();
+    }
+
+    /** ETag hiện tại của ví chỉ từ version đã cache (không load entity), null nếu chưa có ví. */
+    @Override
+    public String getWalletETag(OAuth2User principal) {
+        Long userId = oAuth2UserHelper.getUserId(principal);
+        return toETag(userId, walletRepository.findVersionByUserId(userId));
+    }
+
+    @Override
+    public String toETag(Long userId, Integer version) {
+        return version != null ? "\"" + userId + "-" + version + "\"" : null;
+    }
+
 }
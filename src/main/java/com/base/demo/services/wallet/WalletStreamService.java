@@ -0,0 +1,158 @@
+package com.base.demo.services.wallet;
+
+import com.base.demo.dtos.wallet.GetWalletResponse;
+import com.base.demo.dtos.wallet.WalletChangedEvent;
+import com.base.demo.dtos.wallet.WalletTransactionResponse;
+import com.base.demo.repositories.WalletRepository;
+import com.base.demo.repositories.WalletTransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Đẩy thay đổi số dư/giao dịch của ví tới client qua SSE (GET /api/v1/wallets/stream).
+ * - Sau commit: publish "userId|transactionId" lên Redis pub/sub -> mọi replica nhận được
+ * - Mỗi replica chỉ gửi cho emitter đang kết nối với chính nó, chỉ load DB khi có người nghe
+ * - SseEmitter là async request: không giữ thread nào trong lúc chờ, heartbeat dùng chung 1 scheduled task
+ * - onMessage chạy trên executor bounded của RedisMessageListenerContainer, không chặn thread subscription
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WalletStreamService implements MessageListener {
+
+    public static final String CHANNEL = "app:wallet:updates";
+    private static final int MAX_CONNECTIONS_PER_USER = 5;
+
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final WalletRepository walletRepository;
+    private final WalletTransactionRepository walletTransactionRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${wallet.stream.timeout:30m}")
+    private Duration timeout;
+
+    @PostConstruct
+    void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        meterRegistry.gauge("wallet.stream.connections", emitters,
+                map -> map.values().stream().mapToInt(Set::size).sum());
+    }
+
+    // ==================== CONNECTION ====================
+
+    /** Mở stream cho user, gửi ngay snapshot hiện tại (client không cần GET thêm lần đầu). */
+    public SseEmitter connect(Long userId, GetWalletResponse currentWallet) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        List<SseEmitter> evicted = new ArrayList<>();
+        emitters.compute(userId, (id, set) -> {
+            Set<SseEmitter> userEmitters = set != null ? set : new CopyOnWriteArraySet<>();
+            // Tab cũ nhất nhường chỗ cho kết nối mới, bỏ khỏi set ngay để giữ đúng giới hạn
+            Iterator<SseEmitter> oldest = userEmitters.iterator();
+            while (userEmitters.size() >= MAX_CONNECTIONS_PER_USER && oldest.hasNext()) {
+                SseEmitter old = oldest.next();
+                userEmitters.remove(old);
+                evicted.add(old);
+            }
+            userEmitters.add(emitter);
+            return userEmitters;
+        });
+        // complete() ngoài compute: callback onCompletion gọi lại remove() trên cùng key
+        evicted.forEach(SseEmitter::complete);
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+
+        send(userId, emitter, SseEmitter.event().name("balance").data(currentWallet));
+        return emitter;
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, set) -> {
+            set.remove(emitter);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    @Scheduled(fixedRateString = "${wallet.stream.heartbeat:25s}")
+    void heartbeat() {
+        emitters.forEach((userId, set) -> set.forEach(emitter ->
+                send(userId, emitter, SseEmitter.event().comment("ping"))));
+    }
+
+    // ==================== PUBLISH (sau commit) ====================
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onWalletChanged(WalletChangedEvent event) {
+        String message = event.userId() + "|" + (event.transactionId() != null ? event.transactionId() : "");
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, message);
+        } catch (Exception e) {
+            log.error("Wallet stream PUBLISH error: message={}", message, e);
+        }
+    }
+
+    // ==================== RECEIVE (mọi replica) ====================
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", -1);
+        try {
+            Long userId = Long.valueOf(parts[0]);
+            Set<SseEmitter> userEmitters = emitters.get(userId);
+            if (userEmitters == null || userEmitters.isEmpty())
+                return;
+
+            if (parts.length > 1 && !parts[1].isEmpty()) {
+                WalletTransactionResponse transaction = walletTransactionRepository.findResponseById(Long.valueOf(parts[1]));
+                if (transaction != null)
+                    userEmitters.forEach(emitter -> send(userId, emitter,
+                            SseEmitter.event().name("transaction").id(String.valueOf(transaction.getId())).data(transaction)));
+            }
+
+            List<GetWalletResponse> wallets = walletRepository.findSnapshotsByUserIdIn(List.of(userId));
+            if (!wallets.isEmpty())
+                userEmitters.forEach(emitter -> send(userId, emitter,
+                        SseEmitter.event().name("balance").data(wallets.getFirst())));
+        } catch (Exception e) {
+            log.error("Wallet stream message error: message={}", parts[0], e);
+        }
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (Exception e) {
+            // Client đã ngắt kết nối
+            log.debug("Wallet stream send failed, đóng kết nối: userId={}", userId);
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+-- ============================================================================
+-- V4: FULLTEXT (ngram) index cho tìm kiếm roles/users
+-- Thay cho LIKE '%x%' (không dùng được index -> full table scan)
+-- ngram_token_size mặc định = 2, phù hợp tiếng Việt có dấu và tên ngắn
+-- ============================================================================
+
+ALTER TABLE roles
+    ADD FULLTEXT INDEX ft_roles_name (name) WITH PARSER ngram,
+    ADD FULLTEXT INDEX ft_roles_description (description) WITH PARSER ngram;
+
+-- ----------------------------------------------------------------------------
+
+ALTER TABLE users
+    ADD FULLTEXT INDEX ft_users_full_name (full_name) WITH PARSER ngram;
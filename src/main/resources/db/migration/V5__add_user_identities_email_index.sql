@@ -0,0 +1,6 @@
+-- ============================================================================
+-- V5: Index email để lọc danh sách user theo email identity
+-- ============================================================================
+
+ALTER TABLE user_identities
+    ADD INDEX idx_user_identities_email (email);
@@ -0,0 +1,26 @@
+-- ============================================================================
+-- V6: Phân quyền - permission bitset trên roles và bảng user_roles
+-- Bit: 0=USER_READ, 1=USER_MANAGE, 2=ROLE_MANAGE, 3=WALLET_REVIEW (xem Permission enum)
+-- ============================================================================
+
+ALTER TABLE roles
+    ADD COLUMN permissions BIGINT NOT NULL DEFAULT 0 COMMENT 'Bitset quyền (bit i = Permission.value i)' AFTER description;
+
+-- ----------------------------------------------------------------------------
+
+CREATE TABLE user_roles (
+    user_id    BIGINT NOT NULL COMMENT 'ID user',
+    role_id    BIGINT NOT NULL COMMENT 'ID role',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT 'Thời gian gán role',
+
+    PRIMARY KEY (user_id, role_id),
+    INDEX idx_user_roles_role_id (role_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='Gán role cho user';
+
+-- ----------------------------------------------------------------------------
+
+-- Role ADMIN có toàn bộ quyền. Admin đầu tiên gán thủ công:
+-- INSERT INTO user_roles (user_id, role_id) SELECT <user_id>, id FROM roles WHERE name = 'ADMIN';
+INSERT INTO roles (name, description, permissions)
+VALUES ('ADMIN', 'Quản trị hệ thống', 15)
+ON DUPLICATE KEY UPDATE permissions = VALUES(permissions);
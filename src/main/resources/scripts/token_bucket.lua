@@ -0,0 +1,41 @@
+-- Token bucket cho nhiều bucket trong 1 lần gọi (atomic, 1 round trip).
+-- KEYS[i]: key của bucket i
+-- ARGV[3i-2]: capacity, ARGV[3i-1]: số token nạp lại mỗi ms, ARGV[3i]: TTL key (ms)
+-- Chỉ trừ token khi TẤT CẢ bucket đều còn >= 1 token.
+-- Trả về {allowed (1/0), retry_after_ms}
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local allowed = 1
+local retry_after = 0
+local tokens = {}
+
+for i, key in ipairs(KEYS) do
+    local capacity = tonumber(ARGV[3 * i - 2])
+    local rate = tonumber(ARGV[3 * i - 1])
+    local bucket = redis.call('HMGET', key, 'tokens', 'ts')
+    local available = tonumber(bucket[1])
+    local last = tonumber(bucket[2])
+    if available == nil or last == nil then
+        available = capacity
+        last = now
+    end
+
+    available = math.min(capacity, available + math.max(0, now - last) * rate)
+    tokens[i] = available
+    if available < 1 then
+        allowed = 0
+        retry_after = math.max(retry_after, math.ceil((1 - available) / rate))
+    end
+end
+
+for i, key in ipairs(KEYS) do
+    local available = tokens[i]
+    if allowed == 1 then
+        available = available - 1
+    end
+    redis.call('HSET', key, 'tokens', tostring(available), 'ts', now)
+    redis.call('PEXPIRE', key, tonumber(ARGV[3 * i]))
+end
+
+return {allowed, retry_after}
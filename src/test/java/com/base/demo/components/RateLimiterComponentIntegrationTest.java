@@ -0,0 +1,135 @@
+package com.base.demo.components;
+
+import com.base.demo.components.RateLimiterComponent.Decision;
+import com.base.demo.configs.ratelimit.RateLimitProperties.Bucket;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * token_bucket.lua trên Redis thật: trừ token all-or-nothing giữa các bucket, nạp lại theo thời gian
+ * (TIME của Redis), retry_after và TTL của key.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RateLimiterComponentIntegrationTest {
+
+	@Container
+	static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7.2-alpine"))
+			.withExposedPorts(6379);
+
+	private static LettuceConnectionFactory connectionFactory;
+	private static StringRedisTemplate redisTemplate;
+
+	private RateLimiterComponent rateLimiter;
+	private String limit;
+
+	@BeforeAll
+	static void setUp() {
+		connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+		connectionFactory.afterPropertiesSet();
+		redisTemplate = new StringRedisTemplate(connectionFactory);
+	}
+
+	@AfterAll
+	static void tearDown() {
+		connectionFactory.destroy();
+	}
+
+	@BeforeEach
+	void newLimit() {
+		rateLimiter = new RateLimiterComponent(redisTemplate);
+		limit = "test-" + UUID.randomUUID();
+	}
+
+	@Test
+	void allowsBurstUpToCapacityThenRejects() {
+		Bucket bucket = bucket(3, 3, Duration.ofMinutes(1));
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(consume(List.of("user:1"), List.of(bucket)).allowed()).isTrue();
+		}
+		Decision rejected = consume(List.of("user:1"), List.of(bucket));
+
+		assertThat(rejected.allowed()).isFalse();
+		// 3 token/phút -> 1 token sau tối đa 20 giây
+		assertThat(rejected.retryAfterMillis()).isBetween(1L, 20_000L);
+	}
+
+	@Test
+	void rejectedRequestDoesNotDebitOtherBuckets() {
+		Bucket user = bucket(3, 3, Duration.ofMinutes(1));
+		Bucket ip = bucket(1, 1, Duration.ofMinutes(1));
+
+		assertThat(consume(List.of("user:1", "ip:a"), List.of(user, ip)).allowed()).isTrue();
+		// ip:a hết token -> cả request bị từ chối, bucket user:1 giữ nguyên 2 token
+		assertThat(consume(List.of("user:1", "ip:a"), List.of(user, ip)).allowed()).isFalse();
+		assertThat(consume(List.of("user:1", "ip:a"), List.of(user, ip)).allowed()).isFalse();
+
+		assertThat(consume(List.of("user:1", "ip:b"), List.of(user, ip)).allowed()).isTrue();
+		assertThat(consume(List.of("user:1", "ip:c"), List.of(user, ip)).allowed()).isTrue();
+		assertThat(consume(List.of("user:1", "ip:d"), List.of(user, ip)).allowed()).isFalse();
+	}
+
+	@Test
+	void tokensRefillOverTime() throws InterruptedException {
+		Bucket bucket = bucket(1, 1, Duration.ofMillis(200));
+
+		assertThat(consume(List.of("user:1"), List.of(bucket)).allowed()).isTrue();
+		Decision rejected = consume(List.of("user:1"), List.of(bucket));
+		assertThat(rejected.allowed()).isFalse();
+		assertThat(rejected.retryAfterMillis()).isBetween(1L, 200L);
+
+		Thread.sleep(rejected.retryAfterMillis() + 50);
+
+		assertThat(consume(List.of("user:1"), List.of(bucket)).allowed()).isTrue();
+	}
+
+	@Test
+	void retryAfterIsTheSlowestEmptyBucket() {
+		Bucket fast = bucket(1, 1, Duration.ofSeconds(1));
+		Bucket slow = bucket(1, 1, Duration.ofSeconds(10));
+
+		assertThat(consume(List.of("user:1", "ip:a"), List.of(fast, slow)).allowed()).isTrue();
+		Decision rejected = consume(List.of("user:1", "ip:a"), List.of(fast, slow));
+
+		assertThat(rejected.allowed()).isFalse();
+		assertThat(rejected.retryAfterMillis()).isBetween(1_001L, 10_000L);
+	}
+
+	@Test
+	void bucketKeyIsHashTaggedAndExpiresWhenFull() {
+		Bucket bucket = bucket(2, 2, Duration.ofSeconds(10));
+
+		consume(List.of("user:1"), List.of(bucket));
+
+		String key = "app:ratelimit:{" + limit + "}:user:1";
+		assertThat(redisTemplate.opsForHash().get(key, "tokens")).isNotNull();
+		assertThat(redisTemplate.getExpire(key, TimeUnit.MILLISECONDS)).isBetween(1L, bucket.ttlMillis());
+	}
+
+	private Decision consume(List<String> keys, List<Bucket> buckets) {
+		return rateLimiter.tryConsume(limit, keys, buckets);
+	}
+
+	private static Bucket bucket(int capacity, int refillTokens, Duration refillPeriod) {
+		Bucket bucket = new Bucket();
+		bucket.setCapacity(capacity);
+		bucket.setRefillTokens(refillTokens);
+		bucket.setRefillPeriod(refillPeriod);
+		return bucket;
+	}
+}
@@ -0,0 +1,253 @@
+package com.base.demo.components;
+
+import com.base.demo.components.RedisComponent.CacheEnvelope;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Máy trạng thái envelope của getOrLoad: miss, hit, XFetch, stale-while-revalidate, lease, negative cache,
+ * fallback khi refresh lỗi. Redis giả bằng map trong bộ nhớ, thời gian bằng clock giả.
+ */
+class RedisComponentGetOrLoadTest {
+
+	private static final String CACHE = "test";
+	private static final String KEY = "app:test:1";
+	private static final String LEASE = KEY + ":lease";
+
+	private final Map<String, Object> store = new ConcurrentHashMap<>();
+	private final MutableClock clock = new MutableClock(1_700_000_000_000L);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private ValueOperations<String, Object> valueOperations;
+	private RedisComponent redisComponent;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+		valueOperations = mock(ValueOperations.class);
+		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+		when(valueOperations.get(anyString())).thenAnswer(invocation -> store.get(invocation.<String>getArgument(0)));
+		doAnswer(invocation -> store.put(invocation.getArgument(0), invocation.getArgument(1)))
+				.when(valueOperations).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+		doAnswer(invocation -> store.put(invocation.getArgument(0), invocation.getArgument(1)))
+				.when(valueOperations).set(anyString(), any());
+		when(valueOperations.setIfAbsent(anyString(), any(), any(Duration.class))).thenAnswer(
+				invocation -> store.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+		when(redisTemplate.execute(any(RedisScript.class), anyList(), any())).thenAnswer(invocation -> {
+			String lease = invocation.<List<String>>getArgument(1).get(0);
+			return store.remove(lease, invocation.getArgument(2)) ? 1L : 0L;
+		});
+
+		RedisNearCache nearCache = mock(RedisNearCache.class);
+		redisComponent = new RedisComponent(redisTemplate, redisTemplate, new ObjectMapper(),
+				new SingleFlightComponent(meterRegistry), meterRegistry, nearCache, clock);
+	}
+
+	@Test
+	void missLoadsOnceAndCachesEnvelope() {
+		CountingLoader loader = new CountingLoader("v1");
+
+		assertThat(getOrLoad(loader)).isEqualTo("v1");
+		assertThat(getOrLoad(loader)).isEqualTo("v1");
+
+		assertThat(loader.calls()).isEqualTo(1);
+		CacheEnvelope envelope = (CacheEnvelope) store.get(KEY);
+		assertThat(envelope.v()).isEqualTo("v1");
+		assertThat(envelope.e()).isEqualTo(clock.millis() + 60_000);
+		assertThat(store).doesNotContainKey(LEASE);
+		assertThat(requests("miss")).isEqualTo(1);
+		assertThat(requests("hit")).isEqualTo(1);
+	}
+
+	@Test
+	void nullIsNegativelyCachedUntilItsShortTtl() {
+		CountingLoader loader = new CountingLoader(null);
+
+		assertThat(getOrLoad(loader)).isNull();
+		assertThat(getOrLoad(loader)).isNull();
+		assertThat(loader.calls()).isEqualTo(1);
+		assertThat(((CacheEnvelope) store.get(KEY)).n()).isTrue();
+		assertThat(requests("negative_hit")).isEqualTo(1);
+
+		clock.advance(Duration.ofSeconds(31));
+		getOrLoad(loader);
+		assertThat(loader.calls()).isEqualTo(2);
+	}
+
+	@Test
+	void expiredEnvelopeIsServedStaleWhileAnotherCallerHoldsTheLease() {
+		store.put(KEY, envelope("old", 0, clock.millis() - 1));
+		store.put(LEASE, "other-instance");
+		CountingLoader loader = new CountingLoader("new");
+
+		assertThat(getOrLoad(loader)).isEqualTo("old");
+		assertThat(loader.calls()).isZero();
+		assertThat(requests("stale")).isEqualTo(1);
+	}
+
+	@Test
+	void expiredEnvelopeIsRefreshedByTheLeaseHolder() {
+		store.put(KEY, envelope("old", 0, clock.millis() - 1));
+		CountingLoader loader = new CountingLoader("new");
+
+		assertThat(getOrLoad(loader)).isEqualTo("new");
+		assertThat(((CacheEnvelope) store.get(KEY)).v()).isEqualTo("new");
+		assertThat(store).doesNotContainKey(LEASE);
+		assertThat(requests("expired_refresh")).isEqualTo(1);
+	}
+
+	@Test
+	void refreshErrorFallsBackToOldValueAndReleasesLease() {
+		store.put(KEY, envelope("old", 0, clock.millis() - 1));
+
+		String value = redisComponent.getOrLoad(CACHE, KEY, String.class, 60, TimeUnit.SECONDS, () -> {
+			throw new IllegalStateException("db down");
+		});
+
+		assertThat(value).isEqualTo("old");
+		assertThat(store).doesNotContainKey(LEASE);
+		assertThat(requests("refresh_error")).isEqualTo(1);
+	}
+
+	@Test
+	void loaderErrorOnMissIsPropagated() {
+		assertThatThrownBy(() -> redisComponent.getOrLoad(CACHE, KEY, String.class, 60, TimeUnit.SECONDS, () -> {
+			throw new IllegalStateException("db down");
+		})).isInstanceOf(IllegalStateException.class);
+		assertThat(store).doesNotContainKey(LEASE);
+	}
+
+	@Test
+	void slowLoadNearExpiryIsRefreshedEarly() {
+		// d = 100 giờ, còn 1 giây tới hạn: now - d * ln(rand) >= e trừ khi rand > 0.999997
+		store.put(KEY, envelope("old", 360_000_000, clock.millis() + 1_000));
+		CountingLoader loader = new CountingLoader("new");
+
+		assertThat(getOrLoad(loader)).isEqualTo("new");
+		assertThat(requests("early_refresh")).isEqualTo(1);
+	}
+
+	@Test
+	void instantLoadFarFromExpiryIsNotRefreshedEarly() {
+		store.put(KEY, envelope("old", 0, clock.millis() + 1_000));
+		CountingLoader loader = new CountingLoader("new");
+
+		assertThat(getOrLoad(loader)).isEqualTo("old");
+		assertThat(loader.calls()).isZero();
+	}
+
+	@Test
+	void missWaitsForLeaseHolderResult() {
+		store.put(LEASE, "other-instance");
+		// Lần đọc đầu miss, trong lúc chờ lease instance khác đã ghi envelope
+		when(valueOperations.get(KEY)).thenReturn(null, envelope("from-other", 0, clock.millis() + 60_000));
+		CountingLoader loader = new CountingLoader("mine");
+
+		assertThat(getOrLoad(loader)).isEqualTo("from-other");
+		assertThat(loader.calls()).isZero();
+	}
+
+	@Test
+	void missLoadsItselfAfterLeaseWaitTimesOut() {
+		store.put(LEASE, "other-instance");
+		CountingLoader loader = new CountingLoader("mine");
+
+		assertThat(getOrLoad(loader)).isEqualTo("mine");
+		assertThat(loader.calls()).isEqualTo(1);
+		assertThat(requests("lease_timeout")).isEqualTo(1);
+		assertThat(store.get(LEASE)).isEqualTo("other-instance");
+	}
+
+	private String getOrLoad(Supplier<String> loader) {
+		return redisComponent.getOrLoad(CACHE, KEY, String.class, 60, TimeUnit.SECONDS, loader);
+	}
+
+	private CacheEnvelope envelope(String value, long loadMillis, long expiresAt) {
+		return new CacheEnvelope(value, loadMillis, expiresAt, false);
+	}
+
+	private double requests(String result) {
+		return meterRegistry.counter("redis.cache.requests", "cache", CACHE, "result", result).count();
+	}
+
+	private static class CountingLoader implements Supplier<String> {
+
+		private final String value;
+		private final AtomicInteger calls = new AtomicInteger();
+
+		CountingLoader(String value) {
+			this.value = value;
+		}
+
+		@Override
+		public String get() {
+			calls.incrementAndGet();
+			return value;
+		}
+
+		int calls() {
+			return calls.get();
+		}
+	}
+
+	private static class MutableClock extends Clock {
+
+		private final AtomicLong millis;
+
+		MutableClock(long millis) {
+			this.millis = new AtomicLong(millis);
+		}
+
+		void advance(Duration duration) {
+			millis.addAndGet(duration.toMillis());
+		}
+
+		@Override
+		public long millis() {
+			return millis.get();
+		}
+
+		@Override
+		public Instant instant() {
+			return Instant.ofEpochMilli(millis.get());
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package com.base.demo.components;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.redisson.spring.data.connection.RedissonConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pipeline trộn lệnh status (SET, SETEX, HMSET) và lệnh có giá trị trên Redis thật,
+ * với cả Lettuce và Redisson: kết quả phải gán đúng lệnh dù driver giữ hay bỏ status reply.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisPipelineIntegrationTest {
+
+	@Container
+	static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7.2-alpine"))
+			.withExposedPorts(6379);
+
+	private static RedissonClient redisson;
+	private static LettuceConnectionFactory lettuceFactory;
+
+	@BeforeAll
+	static void setUp() {
+		Config config = new Config();
+		config.useSingleServer().setAddress("redis://" + REDIS.getHost() + ":" + REDIS.getMappedPort(6379));
+		redisson = Redisson.create(config);
+
+		lettuceFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+		lettuceFactory.afterPropertiesSet();
+	}
+
+	@AfterAll
+	static void tearDown() {
+		redisson.shutdown();
+		lettuceFactory.destroy();
+	}
+
+	static Stream<Arguments> templates() {
+		return Stream.of(
+				Arguments.of("lettuce", template(lettuceFactory)),
+				Arguments.of("redisson", template(new RedissonConnectionFactory(redisson))));
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("templates")
+	void mixedStatusAndValueCommands(String driver, RedisTemplate<String, Object> template) {
+		String prefix = "test:pipeline:" + UUID.randomUUID() + ":";
+		template.opsForSet().add(prefix + "set", "member");
+
+		RedisPipeline.Response<?>[] responses = new RedisPipeline.Response<?>[7];
+		boolean success = RedisPipeline.execute(template, pipeline -> {
+			responses[0] = pipeline.set(prefix + "plain", "v1");
+			responses[1] = pipeline.set(prefix + "ttl", "v2", Duration.ofSeconds(30));
+			responses[2] = pipeline.hSetAll(prefix + "hash", Map.of("f", "x"));
+			responses[3] = pipeline.get(prefix + "plain");
+			responses[4] = pipeline.increment(prefix + "counter", 5);
+			responses[5] = pipeline.hGet(prefix + "hash", "f");
+			responses[6] = pipeline.sIsMember(prefix + "set", "member");
+		});
+
+		assertThat(success).isTrue();
+		assertThat(responses).allMatch(RedisPipeline.Response::isSuccess);
+		assertThat(responses[3].get()).isEqualTo("v1");
+		assertThat(responses[4].get()).isEqualTo(5L);
+		assertThat(responses[5].get()).isEqualTo("x");
+		assertThat(responses[6].get()).isEqualTo(true);
+		assertThat(template.opsForValue().get(prefix + "ttl")).isEqualTo("v2");
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("templates")
+	void statusOnlyPipeline(String driver, RedisTemplate<String, Object> template) {
+		String prefix = "test:pipeline:" + UUID.randomUUID() + ":";
+
+		boolean success = RedisPipeline.execute(template, pipeline -> {
+			pipeline.set(prefix + "a", "1", Duration.ofSeconds(30));
+			pipeline.hSetAll(prefix + "b", Map.of("f", "x"));
+		});
+
+		assertThat(success).isTrue();
+		assertThat(template.opsForValue().get(prefix + "a")).isEqualTo("1");
+		assertThat(template.opsForHash().get(prefix + "b", "f")).isEqualTo("x");
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("templates")
+	void failingCommandIsReportedWithoutShiftingOthers(String driver, RedisTemplate<String, Object> template) {
+		String prefix = "test:pipeline:" + UUID.randomUUID() + ":";
+		template.opsForValue().set(prefix + "text", "not-a-number");
+
+		RedisPipeline.Response<?>[] responses = new RedisPipeline.Response<?>[2];
+		boolean success = RedisPipeline.execute(template, pipeline -> {
+			responses[0] = pipeline.increment(prefix + "text", 1);
+			responses[1] = pipeline.get(prefix + "text");
+		});
+
+		assertThat(success).isFalse();
+		assertThat(responses[0].isSuccess()).isFalse();
+		if (responses[1].isSuccess())
+			assertThat(responses[1].get()).isEqualTo("not-a-number");
+	}
+
+	private static RedisTemplate<String, Object> template(RedisConnectionFactory factory) {
+		RedisTemplate<String, Object> template = new RedisTemplate<>();
+		template.setConnectionFactory(factory);
+		template.setKeySerializer(RedisSerializer.string());
+		template.setHashKeySerializer(RedisSerializer.string());
+		template.setValueSerializer(RedisSerializer.json());
+		template.setHashValueSerializer(RedisSerializer.json());
+		template.afterPropertiesSet();
+		return template;
+	}
+}
@@ -0,0 +1,77 @@
+package com.base.demo.components;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisOperations;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Gán kết quả pipeline cho Response: driver có thể giữ hoặc bỏ status reply (SET, SETEX, HMSET).
+ */
+class RedisPipelineTest {
+
+	private RedisPipeline pipeline;
+	private RedisPipeline.Response<Boolean> set;
+	private RedisPipeline.Response<Object> get;
+	private RedisPipeline.Response<Boolean> hSetAll;
+	private RedisPipeline.Response<Long> increment;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		pipeline = new RedisPipeline(mock(RedisOperations.class, RETURNS_DEEP_STUBS));
+		set = pipeline.set("k1", "v1", Duration.ofSeconds(30));
+		get = pipeline.get("k1");
+		hSetAll = pipeline.hSetAll("h1", Map.of("f", "x"));
+		increment = pipeline.increment("c1", 5);
+	}
+
+	@Test
+	void completesPositionallyWhenStatusRepliesAreKept() {
+		boolean completed = RedisPipeline.complete(pipeline.responses(), List.of(true, "v1", "OK", 5L));
+
+		assertThat(completed).isTrue();
+		assertThat(set.get()).isTrue();
+		assertThat(get.get()).isEqualTo("v1");
+		assertThat(hSetAll.get()).isTrue();
+		assertThat(increment.get()).isEqualTo(5L);
+	}
+
+	@Test
+	void mapsValueRepliesWhenStatusRepliesAreDropped() {
+		boolean completed = RedisPipeline.complete(pipeline.responses(), List.of("v1", 5L));
+
+		assertThat(completed).isTrue();
+		assertThat(set.isSuccess()).isTrue();
+		assertThat(hSetAll.isSuccess()).isTrue();
+		assertThat(get.get()).isEqualTo("v1");
+		assertThat(increment.get()).isEqualTo(5L);
+	}
+
+	@Test
+	void failsOnlyTheCommandWhoseReplyIsAnError() {
+		boolean completed = RedisPipeline.complete(pipeline.responses(),
+				Arrays.asList("v1", new IllegalStateException("WRONGTYPE")));
+
+		assertThat(completed).isTrue();
+		assertThat(get.get()).isEqualTo("v1");
+		assertThat(increment.isSuccess()).isFalse();
+		assertThat(increment.get()).isNull();
+	}
+
+	@Test
+	void failsEverythingWhenReplyCountIsAmbiguous() {
+		boolean completed = RedisPipeline.complete(pipeline.responses(), List.of("v1"));
+
+		assertThat(completed).isFalse();
+		assertThat(pipeline.responses()).noneMatch(RedisPipeline.Response::isSuccess);
+	}
+}
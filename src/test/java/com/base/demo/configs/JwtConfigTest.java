@@ -0,0 +1,34 @@
+package com.base.demo.configs;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtConfigTest {
+
+	@Test
+	void missingKeysFailStartupOutsideDevProfile() {
+		assertThatThrownBy(() -> jwtConfig().jwtKeyPair(new DefaultResourceLoader(), new MockEnvironment()))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void missingKeysUseEphemeralKeyInDevProfile() throws Exception {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setActiveProfiles("dev");
+
+		assertThat(jwtConfig().jwtKeyPair(new DefaultResourceLoader(), environment).getPublic().getAlgorithm())
+				.isEqualTo("RSA");
+	}
+
+	private static JwtConfig jwtConfig() {
+		JwtConfig jwtConfig = new JwtConfig();
+		ReflectionTestUtils.setField(jwtConfig, "publicKeyLocation", "");
+		ReflectionTestUtils.setField(jwtConfig, "privateKeyLocation", "");
+		return jwtConfig;
+	}
+}
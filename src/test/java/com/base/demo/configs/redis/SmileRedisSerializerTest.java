@@ -0,0 +1,152 @@
+package com.base.demo.configs.redis;
+
+import com.base.demo.constants.enums.wallet.WalletStatus;
+import com.base.demo.dtos.wallet.GetWalletResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SmileRedisSerializerTest {
+
+	private final ObjectMapper jsonMapper = new ObjectMapper();
+	private final Jackson2JsonRedisSerializer<Object> jsonSerializer =
+			new Jackson2JsonRedisSerializer<>(jsonMapper, Object.class);
+	private final RedisTypeRegistry registry = new RedisTypeRegistry()
+			.register(1, String.class)
+			.register(7, ArrayList.class)
+			.register(100, GetWalletResponse.class);
+
+	@Test
+	void roundTripsRegisteredTypeWithShortTypeId() {
+		SmileRedisSerializer serializer = serializer(true, 0);
+		GetWalletResponse wallet = wallet();
+
+		byte[] bytes = serializer.serialize(wallet);
+
+		assertThat(bytes[0]).isEqualTo(SmileRedisSerializer.MAGIC);
+		assertThat(bytes[1]).isZero();
+		assertThat(((bytes[2] & 0xFF) << 8) | (bytes[3] & 0xFF)).isEqualTo(100);
+		assertThat(serializer.deserialize(bytes)).isEqualTo(wallet);
+	}
+
+	@Test
+	void roundTripsUnregisteredTypeFromAllowedPackageByName() {
+		SmileRedisSerializer serializer = serializer(true, 0);
+		WalletStatus status = WalletStatus.ACTIVE;
+
+		Object value = serializer.deserialize(serializer.serialize(status));
+
+		assertThat(value).isEqualTo(status);
+	}
+
+	@Test
+	void immutableCollectionsAreReadBackAsMutableTypes() {
+		SmileRedisSerializer serializer = serializer(true, 0);
+
+		Object value = serializer.deserialize(serializer.serialize(List.of("a", "b")));
+
+		assertThat(value).isInstanceOf(ArrayList.class).isEqualTo(List.of("a", "b"));
+	}
+
+	@Test
+	void compressesLargePayloadWithLz4() {
+		SmileRedisSerializer serializer = serializer(true, 64);
+		String large = "wallet-".repeat(500);
+
+		byte[] bytes = serializer.serialize(large);
+
+		assertThat(bytes[1]).isEqualTo((byte) 0x01);
+		assertThat(bytes.length).isLessThan(large.length());
+		assertThat(serializer.deserialize(bytes)).isEqualTo(large);
+	}
+
+	@Test
+	void smallPayloadIsNotCompressed() {
+		SmileRedisSerializer serializer = serializer(true, 64);
+
+		byte[] bytes = serializer.serialize("short");
+
+		assertThat(bytes[1]).isZero();
+		assertThat(serializer.deserialize(bytes)).isEqualTo("short");
+	}
+
+	@Test
+	void readsLegacyJsonWrittenBeforeCodecSwitch() {
+		SmileRedisSerializer serializer = serializer(true, 0);
+		byte[] legacy = jsonSerializer.serialize(Map.of("user_id", 42));
+
+		assertThat(serializer.deserialize(legacy)).isEqualTo(Map.of("user_id", 42));
+	}
+
+	@Test
+	void jsonModeWritesLegacyFormatButStillReadsSmile() {
+		SmileRedisSerializer jsonMode = serializer(false, 0);
+		SmileRedisSerializer smileMode = serializer(true, 0);
+
+		byte[] written = jsonMode.serialize("value");
+
+		assertThat(written).isEqualTo(jsonSerializer.serialize("value"));
+		assertThat(jsonMode.deserialize(smileMode.serialize(wallet()))).isEqualTo(wallet());
+	}
+
+	@Test
+	void rejectsUnregisteredClassOutsideAllowedPackages() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeByte(SmileRedisSerializer.MAGIC);
+		out.writeByte(0);
+		out.writeShort(RedisTypeRegistry.UNREGISTERED);
+		out.writeUTF("org.example.Gadget");
+		out.write(jsonMapper.copyWith(new SmileFactory()).writeValueAsBytes(Map.of()));
+
+		assertThatThrownBy(() -> serializer(true, 0).deserialize(bytes.toByteArray()))
+				.isInstanceOf(SerializationException.class)
+				.hasRootCauseInstanceOf(ClassNotFoundException.class);
+	}
+
+	@Test
+	void rejectsUnknownTypeId() {
+		byte[] bytes = { SmileRedisSerializer.MAGIC, 0, 0x7F, 0x00 };
+
+		assertThatThrownBy(() -> serializer(true, 0).deserialize(bytes))
+				.isInstanceOf(SerializationException.class);
+	}
+
+	@Test
+	void nullAndEmptyValues() {
+		SmileRedisSerializer serializer = serializer(true, 0);
+
+		assertThat(serializer.serialize(null)).isEmpty();
+		assertThat(serializer.deserialize(null)).isNull();
+		assertThat(serializer.deserialize(new byte[0])).isNull();
+	}
+
+	private SmileRedisSerializer serializer(boolean writeSmile, int compressionThreshold) {
+		return new SmileRedisSerializer(jsonMapper.copyWith(new SmileFactory()), registry, jsonSerializer, writeSmile,
+				compressionThreshold, new SimpleMeterRegistry());
+	}
+
+	private static GetWalletResponse wallet() {
+		return GetWalletResponse.builder()
+				.userId(42L)
+				.balance(new BigDecimal("150.00"))
+				.availableBalance(new BigDecimal("100.00"))
+				.pendingBalance(new BigDecimal("50.00"))
+				.status(WalletStatus.ACTIVE)
+				.build();
+	}
+}
@@ -0,0 +1,64 @@
+package com.base.demo.configs.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import org.junit.jupiter.api.Test;
+import org.redisson.codec.JsonJacksonCodec;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmileRedissonCodecTest {
+
+	private final ObjectMapper jsonMapper = new ObjectMapper();
+	private final JsonJacksonCodec legacyCodec = new JsonJacksonCodec(jsonMapper);
+	private final RedisTypeRegistry registry = new RedisTypeRegistry()
+			.register(1, String.class)
+			.register(7, ArrayList.class);
+
+	@Test
+	void roundTripsInSameFormatAsRedisTemplate() throws IOException {
+		SmileRedisSerializer serializer = serializer(true);
+		SmileRedissonCodec codec = new SmileRedissonCodec(serializer, legacyCodec);
+
+		ByteBuf encoded = codec.getValueEncoder().encode(List.of("a", "b"));
+		byte[] bytes = new byte[encoded.readableBytes()];
+		encoded.getBytes(encoded.readerIndex(), bytes);
+
+		assertThat(serializer.deserialize(bytes)).isEqualTo(List.of("a", "b"));
+		assertThat(codec.getValueDecoder().decode(encoded, null)).isEqualTo(List.of("a", "b"));
+		encoded.release();
+	}
+
+	@Test
+	void decodesValuesWrittenByLegacyCodec() throws IOException {
+		SmileRedissonCodec codec = new SmileRedissonCodec(serializer(true), legacyCodec);
+
+		ByteBuf legacy = legacyCodec.getValueEncoder().encode("legacy");
+
+		assertThat(codec.getValueDecoder().decode(legacy, null)).isEqualTo("legacy");
+		legacy.release();
+	}
+
+	@Test
+	void jsonModeEncodesWithLegacyCodec() throws IOException {
+		SmileRedissonCodec codec = new SmileRedissonCodec(serializer(false), legacyCodec);
+
+		ByteBuf encoded = codec.getValueEncoder().encode("value");
+
+		assertThat(encoded.getByte(encoded.readerIndex())).isNotEqualTo(SmileRedisSerializer.MAGIC);
+		assertThat(legacyCodec.getValueDecoder().decode(encoded, null)).isEqualTo("value");
+		encoded.release();
+	}
+
+	private SmileRedisSerializer serializer(boolean writeSmile) {
+		return new SmileRedisSerializer(jsonMapper.copyWith(new SmileFactory()), registry,
+				new Jackson2JsonRedisSerializer<>(jsonMapper, Object.class), writeSmile, 0, new SimpleMeterRegistry());
+	}
+}
@@ -0,0 +1,155 @@
+package com.base.demo.configs.session;
+
+import com.base.demo.constants.enums.user.UserStatus;
+import com.base.demo.services.oauth.AppOAuth2User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactSessionRedisSerializerTest {
+
+	private static final byte TAG_JDK = 0;
+	private static final byte TAG_SECURITY_CONTEXT = 1;
+
+	private final CompactSessionRedisSerializer serializer = new CompactSessionRedisSerializer(new SimpleMeterRegistry());
+
+	@Test
+	void securityContextWithNullIdsAndNestedAttributesRoundTrips() {
+		Map<String, Object> attributes = new LinkedHashMap<>();
+		attributes.put("sub", "google-123");
+		attributes.put("email_verified", true);
+		attributes.put("exp", Instant.ofEpochSecond(1_700_000_000L, 123));
+		attributes.put("address", new LinkedHashMap<>(Map.of("city", "Hà Nội", "zip", 100_000)));
+		attributes.put("groups", new ArrayList<>(List.of("a", "b")));
+		attributes.put("picture", null);
+		AppOAuth2User user = new AppOAuth2User(List.of(new SimpleGrantedAuthority("ROLE_USER")), attributes, "sub",
+				null, null, null);
+		SecurityContext context = securityContext(user, user.getAuthorities());
+
+		byte[] bytes = serializer.serialize(context);
+		SecurityContext restored = (SecurityContext) serializer.deserialize(bytes);
+
+		assertThat(bytes[0]).isEqualTo(TAG_SECURITY_CONTEXT);
+		assertThat(restored).isEqualTo(context);
+		OAuth2AuthenticationToken token = (OAuth2AuthenticationToken) restored.getAuthentication();
+		assertThat(token.getAuthorizedClientRegistrationId()).isEqualTo("google");
+		AppOAuth2User principal = (AppOAuth2User) token.getPrincipal();
+		assertThat(principal.getUserId()).isNull();
+		assertThat(principal.getWalletId()).isNull();
+		assertThat(principal.getStatus()).isNull();
+		assertThat(principal.getNameAttributeKey()).isEqualTo("sub");
+		assertThat(principal.getAttributes()).containsExactlyEntriesOf(attributes);
+	}
+
+	@Test
+	void securityContextKeepsInternalIds() {
+		AppOAuth2User user = new AppOAuth2User(List.of(), Map.of("uid", 42L), "uid", 42L, 7L, UserStatus.SUSPENDED);
+
+		AppOAuth2User principal = (AppOAuth2User) ((SecurityContext) serializer
+				.deserialize(serializer.serialize(securityContext(user, List.of())))).getAuthentication().getPrincipal();
+
+		assertThat(principal.getUserId()).isEqualTo(42L);
+		assertThat(principal.getWalletId()).isEqualTo(7L);
+		assertThat(principal.getStatus()).isEqualTo(UserStatus.SUSPENDED);
+	}
+
+	static Stream<Object> scalars() {
+		return Stream.of("session-value", "", 1_700_000_000_000L, 1800, true, false, 3.14,
+				Instant.ofEpochSecond(1_700_000_000L, 999_999_999), "x".repeat(70_000), "ệ".repeat(30_000));
+	}
+
+	@ParameterizedTest
+	@MethodSource("scalars")
+	void scalarRoundTripsWithoutJdkSerialization(Object value) {
+		byte[] bytes = serializer.serialize(value);
+
+		assertThat(bytes[0]).isNotEqualTo(TAG_JDK);
+		assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+	}
+
+	@Test
+	void otherObjectsFallBackToJdkSerialization() {
+		List<String> value = new ArrayList<>(List.of("csrf", "token"));
+
+		byte[] bytes = serializer.serialize(value);
+
+		assertThat(bytes[0]).isEqualTo(TAG_JDK);
+		assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+	}
+
+	@Test
+	void nonOAuth2SecurityContextFallsBackToJdkSerialization() {
+		SecurityContext context = new SecurityContextImpl(
+				new UsernamePasswordAuthenticationToken("admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+
+		byte[] bytes = serializer.serialize(context);
+
+		assertThat(bytes[0]).isEqualTo(TAG_JDK);
+		assertThat(serializer.deserialize(bytes)).isEqualTo(context);
+	}
+
+	@Test
+	void securityContextWithOverlongFixedFieldFallsBackToJdkSerialization() {
+		List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + "X".repeat(70_000)));
+		AppOAuth2User user = new AppOAuth2User(authorities, Map.of("sub", "google-123"), "sub", 1L, 2L,
+				UserStatus.ACTIVE);
+		SecurityContext context = securityContext(user, authorities);
+
+		byte[] bytes = serializer.serialize(context);
+
+		assertThat(bytes[0]).isEqualTo(TAG_JDK);
+		assertThat(serializer.deserialize(bytes)).isEqualTo(context);
+	}
+
+	@Test
+	void overlongAttributeValueStaysCompact() {
+		String picture = "data:image/png;base64," + "A".repeat(100_000);
+		AppOAuth2User user = new AppOAuth2User(List.of(), Map.of("sub", "google-123", "picture", picture), "sub",
+				1L, null, null);
+
+		byte[] bytes = serializer.serialize(securityContext(user, List.of()));
+		AppOAuth2User principal = (AppOAuth2User) ((SecurityContext) serializer.deserialize(bytes))
+				.getAuthentication().getPrincipal();
+
+		assertThat(bytes[0]).isEqualTo(TAG_SECURITY_CONTEXT);
+		assertThat(principal.<String>getAttribute("picture")).isEqualTo(picture);
+	}
+
+	@Test
+	void unknownTagFails() {
+		assertThatThrownBy(() -> serializer.deserialize(new byte[] {99}))
+				.isInstanceOf(SerializationException.class)
+				.hasMessageContaining("99");
+	}
+
+	@Test
+	void nullAndEmptyAreNull() {
+		assertThat(serializer.serialize(null)).isNull();
+		assertThat(serializer.deserialize(null)).isNull();
+		assertThat(serializer.deserialize(new byte[0])).isNull();
+	}
+
+	private static SecurityContext securityContext(AppOAuth2User user,
+			Collection<? extends GrantedAuthority> authorities) {
+		return new SecurityContextImpl(new OAuth2AuthenticationToken(user, authorities, "google"));
+	}
+}
@@ -0,0 +1,85 @@
+package com.base.demo.services.auth;
+
+import com.base.demo.configs.JwtConfig;
+import com.base.demo.constants.enums.user.UserStatus;
+import com.base.demo.services.oauth.AppOAuth2User;
+import com.base.demo.services.permission.PermissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Access token phát ra phải decode lại (verify chữ ký + issuer) thành AppOAuth2User với đủ thông tin nội bộ.
+ */
+class AccessTokenServiceImplTest {
+
+	private static final String ISSUER = "https://test.local";
+
+	private AccessTokenServiceImpl accessTokenService;
+	private JwtDecoder jwtDecoder;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		JwtConfig jwtConfig = new JwtConfig();
+		ReflectionTestUtils.setField(jwtConfig, "issuer", ISSUER);
+		ReflectionTestUtils.setField(jwtConfig, "publicKeyLocation", "");
+		ReflectionTestUtils.setField(jwtConfig, "privateKeyLocation", "");
+		MockEnvironment environment = new MockEnvironment();
+		environment.setActiveProfiles("test");
+		KeyPair keyPair = jwtConfig.jwtKeyPair(new DefaultResourceLoader(), environment);
+		jwtDecoder = jwtConfig.jwtDecoder(keyPair);
+
+		PermissionService permissionService = mock(PermissionService.class);
+		when(permissionService.getPermissionMask(42L)).thenReturn(7L);
+		accessTokenService = new AccessTokenServiceImpl(jwtConfig.jwtEncoder(keyPair), permissionService);
+		ReflectionTestUtils.setField(accessTokenService, "issuer", ISSUER);
+		ReflectionTestUtils.setField(accessTokenService, "accessTokenTtl", Duration.ofMinutes(15));
+	}
+
+	@Test
+	void issuedTokenDecodesBackToPrincipal() {
+		AppOAuth2User user = new AppOAuth2User(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")),
+				Map.of("sub", "google-123", "name", "Nguyễn Văn A", "email", "a@example.com"),
+				"sub", 42L, 7L, UserStatus.ACTIVE);
+
+		String token = accessTokenService.issueAccessToken(user).getAccessToken();
+		AbstractAuthenticationToken authentication = accessTokenService.toAuthentication(jwtDecoder.decode(token));
+
+		AppOAuth2User principal = (AppOAuth2User) authentication.getPrincipal();
+		assertThat(principal.getUserId()).isEqualTo(42L);
+		assertThat(principal.getWalletId()).isEqualTo(7L);
+		assertThat(principal.getStatus()).isEqualTo(UserStatus.ACTIVE);
+		assertThat(principal.getName()).isEqualTo("42");
+		assertThat(principal.<String>getAttribute("sub")).isEqualTo("google-123");
+		assertThat(principal.<String>getAttribute("email")).isEqualTo("a@example.com");
+		assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+	}
+
+	@Test
+	void optionalClaimsStayNullWhenPrincipalHasNoWalletOrStatus() {
+		AppOAuth2User user = new AppOAuth2User(List.of(), Map.of("sub", "google-123"), "sub", 42L, null, null);
+
+		String token = accessTokenService.issueAccessToken(user).getAccessToken();
+		AppOAuth2User principal = (AppOAuth2User) accessTokenService.toAuthentication(jwtDecoder.decode(token))
+				.getPrincipal();
+
+		assertThat(principal.getUserId()).isEqualTo(42L);
+		assertThat(principal.getWalletId()).isNull();
+		assertThat(principal.getStatus()).isNull();
+		assertThat(principal.getAuthorities()).isEmpty();
+	}
+}
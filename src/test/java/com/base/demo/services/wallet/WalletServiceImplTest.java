@@ -0,0 +1,108 @@
+package com.base.demo.services.wallet;
+
+import com.base.demo.components.RedisComponent;
+import com.base.demo.components.RedisNearCache;
+import com.base.demo.components.SingleFlightComponent;
+import com.base.demo.configs.redis.RedisTypeRegistry;
+import com.base.demo.configs.redis.SmileRedisSerializer;
+import com.base.demo.constants.enums.wallet.WalletStatus;
+import com.base.demo.dtos.wallet.BatchWalletResponse;
+import com.base.demo.dtos.wallet.GetWalletResponse;
+import com.base.demo.helpers.OAuth2UserHelper;
+import com.base.demo.repositories.UserIdentityRepository;
+import com.base.demo.repositories.WalletRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Batch lookup snapshot ví qua serializer thật ở codec json (bước 1 rolling deploy):
+ * value đọc về là Map nhưng vẫn phải là cache hit, tombstone luôn là miss.
+ */
+class WalletServiceImplTest {
+
+	private final ObjectMapper jsonMapper = new ObjectMapper();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final SmileRedisSerializer jsonModeSerializer = new SmileRedisSerializer(
+			jsonMapper.copyWith(new SmileFactory()), new RedisTypeRegistry().register(100, GetWalletResponse.class),
+			new Jackson2JsonRedisSerializer<>(jsonMapper, Object.class), false, 0, meterRegistry);
+	/** Redis giả: lưu đúng byte serializer ghi ra. */
+	private final Map<String, byte[]> store = new HashMap<>();
+
+	private WalletRepository walletRepository;
+	private WalletServiceImpl walletService;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+		ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+		when(valueOperations.multiGet(anyCollection())).thenAnswer(invocation -> invocation
+				.<Collection<String>>getArgument(0).stream()
+				.map(key -> store.containsKey(key) ? jsonModeSerializer.deserialize(store.get(key)) : null)
+				.toList());
+
+		RedisNearCache nearCache = mock(RedisNearCache.class);
+		RedisComponent redisComponent = new RedisComponent(redisTemplate, redisTemplate, jsonMapper,
+				new SingleFlightComponent(meterRegistry), meterRegistry, nearCache);
+
+		walletRepository = mock(WalletRepository.class);
+		walletService = new WalletServiceImpl(walletRepository, mock(UserIdentityRepository.class),
+				mock(OAuth2UserHelper.class), new SingleFlightComponent(meterRegistry), redisComponent);
+	}
+
+	@Test
+	void jsonSnapshotIsACacheHit() {
+		GetWalletResponse wallet = wallet(1L);
+		store.put(WalletServiceImpl.SNAPSHOT_KEY_PREFIX + 1, jsonModeSerializer.serialize(wallet));
+
+		BatchWalletResponse response = walletService.getWallets(List.of(1L));
+
+		assertThat(response.getWallets()).containsExactly(wallet);
+		assertThat(response.getMissingUserIds()).isEmpty();
+		verify(walletRepository, never()).findSnapshotsByUserIdIn(any());
+	}
+
+	@Test
+	void tombstoneIsAMiss() {
+		store.put(WalletServiceImpl.SNAPSHOT_KEY_PREFIX + 1,
+				jsonModeSerializer.serialize(WalletServiceImpl.SNAPSHOT_TOMBSTONE));
+		GetWalletResponse fromDb = wallet(1L);
+		when(walletRepository.findSnapshotsByUserIdIn(List.of(1L))).thenReturn(List.of(fromDb));
+
+		BatchWalletResponse response = walletService.getWallets(List.of(1L));
+
+		assertThat(response.getWallets()).containsExactly(fromDb);
+		verify(walletRepository).findSnapshotsByUserIdIn(List.of(1L));
+	}
+
+	private static GetWalletResponse wallet(Long userId) {
+		return GetWalletResponse.builder()
+				.userId(userId)
+				.balance(new BigDecimal("100.5"))
+				.availableBalance(new BigDecimal("80.5"))
+				.pendingBalance(new BigDecimal("20"))
+				.status(WalletStatus.ACTIVE)
+				.build();
+	}
+}